@@ -0,0 +1,60 @@
+package com.example.querydsl;
+
+import com.example.querydsl.cdc.ChangeCaptureListener;
+import com.example.querydsl.cdc.OutboxPublisher;
+import com.example.querydsl.repository.MemberAgeHistogramListener;
+import com.example.querydsl.repository.MemberArchiveJob;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Hibernate 이벤트 리스너를 SessionFactory 를 만들 때 Integrator 로 등록한다.
+ * - 리스너 빈의 @PostConstruct 에서 등록하면 lazy-initialization(fast 프로파일)에서는 아무도 그 빈을 찾지 않아 등록되지 않는다.
+ * - @Scheduled 빈도 lazy 에서 만들어지지 않으면 스케줄되지 않으므로 미리 만든다.
+ */
+@Configuration(proxyBeanMethods = false)
+public class EntityEventListenerConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer entityEventListenerIntegrator(MemberAgeHistogramListener histogramListener,
+                                                               ChangeCaptureListener changeCaptureListener) {
+        Integrator integrator = new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                                  SessionFactoryImplementor sessionFactory) {
+                EventListenerRegistry registry = sessionFactory.getServiceRegistry()
+                        .getService(EventListenerRegistry.class);
+                registry.appendListeners(EventType.POST_COMMIT_INSERT, histogramListener);
+                registry.appendListeners(EventType.POST_COMMIT_UPDATE, histogramListener);
+                registry.appendListeners(EventType.POST_COMMIT_DELETE, histogramListener);
+                registry.appendListeners(EventType.POST_INSERT, changeCaptureListener);
+                registry.appendListeners(EventType.POST_UPDATE, changeCaptureListener);
+                registry.appendListeners(EventType.POST_DELETE, changeCaptureListener);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                     SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        };
+        return properties -> properties.put("hibernate.integrator_provider",
+                (IntegratorProvider) () -> List.of(integrator));
+    }
+
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(MemberArchiveJob.class, OutboxPublisher.class);
+    }
+}
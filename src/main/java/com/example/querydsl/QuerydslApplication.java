@@ -2,8 +2,12 @@ package com.example.querydsl;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ImportRuntimeHints(QuerydslRuntimeHints.class)
+@EnableScheduling
 public class QuerydslApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,36 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.MemberDto;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.dto.QMemberDto;
+import com.example.querydsl.dto.QMemberTeamDto;
+import com.example.querydsl.dto.UserDto;
+import com.example.querydsl.entity.QHello;
+import com.example.querydsl.entity.QMember;
+import com.example.querydsl.entity.QTeam;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * AOT/네이티브 이미지용 리플렉션 힌트
+ * - Querydsl Q타입: 정적 필드, 생성자
+ * - DTO: Projections.bean/fields/constructor 와 Jackson 직렬화
+ */
+public class QuerydslRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> type : new Class<?>[]{QMember.class, QTeam.class, QHello.class, QMemberDto.class, QMemberTeamDto.class}) {
+            hints.reflection().registerType(type,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        for (Class<?> type : new Class<?>[]{MemberDto.class, MemberTeamDto.class, UserDto.class}) {
+            hints.reflection().registerType(type,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
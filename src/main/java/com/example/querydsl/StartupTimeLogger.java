@@ -0,0 +1,23 @@
+package com.example.querydsl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * JVM 시작부터 요청을 받을 수 있을 때까지 걸린 시간 (프로파일/CDS 비교용)
+ */
+@Slf4j
+@Component
+public class StartupTimeLogger {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logStartupTime(ApplicationReadyEvent event) {
+        log.info("ready in {}ms (jvm uptime), context {}ms",
+                ManagementFactory.getRuntimeMXBean().getUptime(),
+                event.getTimeTaken().toMillis());
+    }
+}
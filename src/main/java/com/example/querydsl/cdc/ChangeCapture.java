@@ -0,0 +1,104 @@
+package com.example.querydsl.cdc;
+
+import com.example.querydsl.repository.MemberTableVersion;
+import jakarta.persistence.EntityManager;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 트랜잭션(세션) 단위로 변경 이벤트를 모아 커밋 직전 outbox_event 에 한 번에 기록한다.
+ * - flush 가 끝난 뒤(BeforeTransactionCompletionProcess) 같은 커넥션으로 batch insert 하므로 변경과 원자적
+ * - 커밋되면 OutboxPublisher 를 깨우기만 하고 전달은 백그라운드에서 한다.
+ */
+@Component
+public class ChangeCapture {
+
+    static final String INSERT_SQL = """
+            insert into outbox_event (aggregate_type, aggregate_id, entity_ids, operation, detail, occurred_at, published)
+            values (?, ?, ?, ?, ?, ?, false)""";
+
+    private final Map<SharedSessionContractImplementor, List<ChangeEvent>> pending = new ConcurrentHashMap<>();
+    private final OutboxPublisher outboxPublisher;
+    private final MemberTableVersion memberTableVersion;
+
+    public ChangeCapture(OutboxPublisher outboxPublisher, MemberTableVersion memberTableVersion) {
+        this.outboxPublisher = outboxPublisher;
+        this.memberTableVersion = memberTableVersion;
+    }
+
+    /**
+     * 엔티티 단건 변경 (Hibernate 이벤트 리스너에서 호출)
+     */
+    public void record(SessionImplementor session, String aggregateType, Long aggregateId, String operation) {
+        buffer(session).add(new ChangeEvent(null, aggregateType, aggregateId, null, operation, null,
+                LocalDateTime.now()));
+    }
+
+    /**
+     * 영속성 컨텍스트를 거치지 않는 벌크 연산. 트랜잭션 안에서 호출해야 한다.
+     *
+     * @param ids    영향받은 id, 모르면 null 이고 detail 에 조건을 남긴다.
+     * @param detail 조건 설명 (예: "age < 20")
+     */
+    public void recordBulk(EntityManager em, String aggregateType, String operation,
+                           Collection<Long> ids, String detail) {
+        String entityIds = ids == null ? null : ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        buffer(em.unwrap(SessionImplementor.class)).add(new ChangeEvent(null, aggregateType, null, entityIds,
+                operation, detail, LocalDateTime.now()));
+    }
+
+    private List<ChangeEvent> buffer(SessionImplementor session) {
+        return pending.computeIfAbsent(session, s -> {
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::write);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) this::completed);
+            return new ArrayList<>();
+        });
+    }
+
+    private void write(SessionImplementor session) {
+        List<ChangeEvent> events = pending.get(session);
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+        session.doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+                for (ChangeEvent event : events) {
+                    ps.setString(1, event.aggregateType());
+                    if (event.aggregateId() == null) {
+                        ps.setNull(2, Types.BIGINT);
+                    } else {
+                        ps.setLong(2, event.aggregateId());
+                    }
+                    ps.setString(3, event.entityIds());
+                    ps.setString(4, event.operation());
+                    ps.setString(5, event.detail());
+                    ps.setTimestamp(6, Timestamp.valueOf(event.occurredAt()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+
+    private void completed(boolean success, SharedSessionContractImplementor session) {
+        List<ChangeEvent> events = pending.remove(session);
+        if (success && events != null && !events.isEmpty()) {
+            memberTableVersion.increment();
+            outboxPublisher.wakeUp();
+        }
+    }
+}
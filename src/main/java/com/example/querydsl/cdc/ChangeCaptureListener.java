@@ -0,0 +1,56 @@
+package com.example.querydsl.cdc;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Member, Team 의 insert/update/delete 를 ChangeCapture 에 넘기는 Hibernate 이벤트 리스너
+ * - 커밋 후 리스너(MemberAgeHistogramListener)와 달리 flush 시점에 호출되어 같은 트랜잭션에 기록된다.
+ * - @SoftDelete 회원 삭제도 delete 이벤트로 들어온다.
+ * - 등록은 SessionFactory 를 만들 때 {@code EntityEventListenerConfig} 에서. 그 시점에 없어도 되도록 ChangeCapture 는 나중에 찾는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeCaptureListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final ObjectProvider<ChangeCapture> changeCaptureProvider;
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getSession(), event.getEntity(), event.getId(), "INSERT");
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getSession(), event.getEntity(), event.getId(), "UPDATE");
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getSession(), event.getEntity(), event.getId(), "DELETE");
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void record(EventSource session, Object entity, Object id, String operation) {
+        if (entity instanceof Member) {
+            changeCaptureProvider.getObject().record(session, "Member", (Long) id, operation);
+        } else if (entity instanceof Team) {
+            changeCaptureProvider.getObject().record(session, "Team", (Long) id, operation);
+        }
+    }
+}
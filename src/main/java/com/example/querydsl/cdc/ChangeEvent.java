@@ -0,0 +1,12 @@
+package com.example.querydsl.cdc;
+
+import java.time.LocalDateTime;
+
+/**
+ * @param id         outbox id, 기록 전에는 null
+ * @param aggregateId 단건 변경 대상 id
+ * @param entityIds  벌크 연산 대상 id (쉼표 구분), 단건이면 null
+ */
+public record ChangeEvent(Long id, String aggregateType, Long aggregateId, String entityIds,
+                          String operation, String detail, LocalDateTime occurredAt) {
+}
@@ -0,0 +1,12 @@
+package com.example.querydsl.cdc;
+
+import java.util.List;
+
+/**
+ * 커밋된 변경 이벤트를 받는 곳 (파일, 큐, 메시지 브로커 등)
+ * - 최소 한 번 전달: 같은 이벤트를 다시 받을 수 있으므로 id 로 중복 처리
+ */
+public interface ChangeEventSink {
+
+    void publish(List<ChangeEvent> events) throws Exception;
+}
@@ -0,0 +1,26 @@
+package com.example.querydsl.cdc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * cdc.sink.file 이 있으면 JSON Lines 파일, 없으면 메모리 큐
+ * - 다른 전달 대상(Kafka 등)은 ChangeEventSink 빈을 바꿔 끼우면 된다.
+ */
+@Configuration
+public class ChangeEventSinkConfig {
+
+    @Bean
+    public ChangeEventSink changeEventSink(ObjectMapper objectMapper,
+                                           @Value("${cdc.sink.file:}") String file,
+                                           @Value("${cdc.sink.queue-capacity:10000}") int queueCapacity) {
+        if (file.isBlank()) {
+            return new QueueChangeEventSink(queueCapacity);
+        }
+        return new FileChangeEventSink(Path.of(file), objectMapper);
+    }
+}
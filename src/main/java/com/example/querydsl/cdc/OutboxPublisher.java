@@ -0,0 +1,111 @@
+package com.example.querydsl.cdc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * outbox_event 의 미전송 이벤트를 id 순서로 batchSize 씩 읽어 ChangeEventSink 로 보낸다.
+ * - 커밋 후 wakeUp() 으로 깨우고, 놓친 경우(재시작 등)를 위해 주기적으로도 확인
+ * - 전송 스레드는 하나. 전송 후 표시하므로 최소 한 번 전달, 늦게 커밋된 낮은 id 는 뒤늦게 나갈 수 있다.
+ * - 전송된 이벤트는 retention 이 지나면 삭제
+ */
+@Slf4j
+@Component
+public class OutboxPublisher {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeEventSink sink;
+    private final int batchSize;
+    private final Duration retention;
+    private final Counter published;
+    private final Counter failures;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("outbox-publisher").daemon().factory());
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public OutboxPublisher(JdbcTemplate jdbcTemplate, ChangeEventSink sink, MeterRegistry registry,
+                           @Value("${cdc.publisher.batch-size:500}") int batchSize,
+                           @Value("${cdc.publisher.retention:PT1H}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.published = registry.counter("cdc.events.published");
+        this.failures = registry.counter("cdc.publish.failures");
+    }
+
+    /**
+     * 쓰기 트랜잭션에서 호출되므로 기다리지 않는다. 이미 예약돼 있으면 합쳐진다.
+     */
+    public void wakeUp() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                scheduled.set(false);
+                drain();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cdc.publisher.poll-interval:PT5S}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @Scheduled(fixedDelayString = "${cdc.publisher.purge-interval:PT10M}")
+    public void purge() {
+        jdbcTemplate.update("delete from outbox_event where published = true and occurred_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+    }
+
+    private void drain() {
+        try {
+            List<ChangeEvent> batch;
+            do {
+                batch = jdbcTemplate.query("""
+                                select id, aggregate_type, aggregate_id, entity_ids, operation, detail, occurred_at
+                                from outbox_event where published = false order by id limit ?""",
+                        (rs, i) -> new ChangeEvent(
+                                rs.getLong("id"),
+                                rs.getString("aggregate_type"),
+                                rs.getObject("aggregate_id", Long.class),
+                                rs.getString("entity_ids"),
+                                rs.getString("operation"),
+                                rs.getString("detail"),
+                                rs.getTimestamp("occurred_at").toLocalDateTime()),
+                        batchSize);
+                if (batch.isEmpty()) {
+                    return;
+                }
+                sink.publish(batch);
+                // id 범위로 표시하면 늦게 커밋된 중간 id 가 빠질 수 있어 읽은 id 만 표시
+                jdbcTemplate.batchUpdate("update outbox_event set published = true where id = ?",
+                        batch, batch.size(), (ps, event) -> ps.setLong(1, event.id()));
+                published.increment(batch.size());
+            } while (batch.size() == batchSize);
+        } catch (Exception e) {
+            // 표시되지 않은 이벤트는 다음 poll 에서 다시 보낸다.
+            failures.increment();
+            log.warn("outbox publish failed", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.querydsl.cdc;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * 메모리 큐 (로컬, 테스트용). 가득 차면 오래된 이벤트부터 버린다.
+ */
+public class QueueChangeEventSink implements ChangeEventSink {
+
+    private final BlockingQueue<ChangeEvent> queue;
+
+    public QueueChangeEventSink(int capacity) {
+        this.queue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public void publish(List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            while (!queue.offer(event)) {
+                queue.poll();
+            }
+        }
+    }
+
+    public BlockingQueue<ChangeEvent> getQueue() {
+        return queue;
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.querydsl.controller;
 
+import com.example.querydsl.datagen.DataSetSpec;
+import com.example.querydsl.datagen.MemberDataGenerator;
 import com.example.querydsl.entity.Member;
 import com.example.querydsl.entity.Team;
-import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,10 +20,22 @@ import org.springframework.transaction.annotation.Transactional;
 public class InitMember {
 
     private final InitMemberService initMemberService;
+    private final MemberDataGenerator memberDataGenerator;
 
-    @PostConstruct
-    private void init() {
+    // 대량 데이터: --datagen.members=1000000 --datagen.teams=5000
+    @Value("${datagen.members:0}")
+    private int generatedMembers;
+
+    @Value("${datagen.teams:1000}")
+    private int generatedTeams;
+
+    // 기동 경로에서 빼기 위해 @PostConstruct 대신 기동 완료 후 실행
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
         initMemberService.init();
+        if (generatedMembers > 0) {
+            memberDataGenerator.load(DataSetSpec.of(generatedTeams, generatedMembers));
+        }
     }
 
     @Component
@@ -1,36 +1,169 @@
 package com.example.querydsl.controller;
 
+import com.example.querydsl.dto.LimitedResult;
 import com.example.querydsl.dto.MemberSearchCondition;
 import com.example.querydsl.dto.MemberTeamDto;
-import com.example.querydsl.repository.MemberJpaRepository;
+import com.example.querydsl.dto.PageResponse;
+import com.example.querydsl.dto.SliceResponse;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.QMember;
 import com.example.querydsl.repository.MemberRepository;
+import com.example.querydsl.repository.MemberSearchCache;
+import com.example.querydsl.repository.MemberSorts;
+import com.example.querydsl.repository.MemberTeamMover;
+import com.example.querydsl.repository.PredicateCostEstimator;
+import com.example.querydsl.repository.QueryAdmission;
+import com.example.querydsl.repository.QueryCost;
+import com.querydsl.core.types.Predicate;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
-    private final MemberJpaRepository memberJpaRepository;
+    private static final int MAX_PREDICATE_PAGE_SIZE = 100;
+    static final String TRUNCATED_HEADER = "X-Result-Truncated";
+
     private final MemberRepository memberRepository;
+    private final MemberTeamJsonWriter memberTeamJsonWriter;
+    private final MemberTeamColumnarWriter memberTeamColumnarWriter;
+    private final PredicateCostEstimator predicateCostEstimator;
+    private final MemberTeamMover memberTeamMover;
+    private final MemberSearchCache memberSearchCache;
+    private final QueryAdmission queryAdmission;
 
+    /**
+     * 결과는 MemberSearchCache 에 캐시되고, 같은 조건의 동시 요청은 쿼리 한 번으로 합친다.
+     * - 최대 member.result.max-rows 건. 잘리면 X-Result-Truncated(상한 건수) 헤더와 스트리밍 주소(Link rel=alternate)를 준다.
+     */
     @GetMapping("/v1/members")
-    public List<MemberTeamDto> members(MemberSearchCondition condition) {
-        return memberJpaRepository.searchByWhere(condition);
+    public List<MemberTeamDto> members(MemberSearchCondition condition, HttpServletResponse response) {
+        LimitedResult<MemberTeamDto> result = memberSearchCache.searchByWhere(condition);
+        if (result.truncated()) {
+            String stream = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replacePath("/v1/members/stream")
+                    .toUriString();
+            response.setHeader(TRUNCATED_HEADER, String.valueOf(result.limit()));
+            response.setHeader(HttpHeaders.LINK, "<" + stream + ">; rel=\"alternate\"");
+        }
+        return result.content();
+    }
+
+    /**
+     * Accept: application/x-member-columnar 인 경우에만 선택된다. 기본은 JSON
+     * - 내보내기는 응답이 끝날 때까지 커넥션을 잡으므로 EXPENSIVE 대기열
+     */
+    @GetMapping(value = "/v1/members", produces = MemberTeamColumnarWriter.MEDIA_TYPE)
+    public void membersColumnar(MemberSearchCondition condition, HttpServletResponse response) throws IOException {
+        response.setContentType(MemberTeamColumnarWriter.MEDIA_TYPE);
+        queryAdmission.run(QueryCost.EXPENSIVE, () -> {
+            memberTeamColumnarWriter.write(condition, response.getOutputStream());
+            return null;
+        });
+    }
+
+    @GetMapping("/v1/members/stream")
+    public void streamMembers(MemberSearchCondition condition, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        queryAdmission.run(QueryCost.EXPENSIVE, () -> {
+            memberTeamJsonWriter.write(condition, response.getOutputStream());
+            return null;
+        });
     }
 
     @GetMapping("/v2/members")
-    public Page<MemberTeamDto> searchMembers2(MemberSearchCondition condition, Pageable pageable) {
-        return memberRepository.searchSimple(condition, pageable);
+    public PageResponse<MemberTeamDto> searchMembers2(MemberSearchCondition condition, Pageable pageable) {
+        MemberSorts.validate(pageable.getSort());
+        return PageResponse.of(queryAdmission.run(QueryCost.classify(condition, pageable, true),
+                () -> memberRepository.searchSimple(condition, pageable)));
     }
 
     @GetMapping("/v3/members")
-    public Page<MemberTeamDto> searchMembers3(MemberSearchCondition condition, Pageable pageable) {
-        return memberRepository.searchComplex(condition, pageable);
+    public PageResponse<MemberTeamDto> searchMembers3(MemberSearchCondition condition, Pageable pageable) {
+        MemberSorts.validate(pageable.getSort());
+        return PageResponse.of(memberSearchCache.searchComplex(condition, pageable));
+    }
+
+    @GetMapping("/v3/members/deferred")
+    public PageResponse<MemberTeamDto> searchMembers3Deferred(MemberSearchCondition condition, Pageable pageable) {
+        MemberSorts.validate(pageable.getSort());
+        return PageResponse.of(queryAdmission.run(QueryCost.classify(condition, pageable, true),
+                () -> memberRepository.searchDeferredJoin(condition, pageable)));
+    }
+
+    /**
+     * 쿼리 파라미터 조건 (?name=member1&age=10&team.name=teamA)
+     * - 인덱스 없는 경로, 과도한 OR/in 목록, 조건 없는 요청은 400
+     * - 페이지 크기는 최대 MAX_PREDICATE_PAGE_SIZE
+     */
+    @GetMapping("/v5/members")
+    public PageResponse<MemberTeamDto> searchMembers5(
+            @QuerydslPredicate(root = Member.class, bindings = MemberRepository.class) Predicate predicate,
+            Pageable pageable) {
+        predicateCostEstimator.check(predicate);
+        MemberSorts.validate(pageable.getSort());
+        Pageable limited = PageRequest.of(pageable.getPageNumber(),
+                Math.min(pageable.getPageSize(), MAX_PREDICATE_PAGE_SIZE), pageable.getSort());
+        // 비용 검사를 통과했고 페이지 크기도 제한되어 NORMAL
+        return PageResponse.of(queryAdmission.run(QueryCost.NORMAL,
+                () -> memberRepository.searchByPredicate(predicate, limited)));
+    }
+
+    /**
+     * 팀 간 회원 일괄 이동, ageGoe 가 있으면 해당 나이 이상만
+     */
+    @PostMapping("/v1/teams/{fromTeamId}/members/move")
+    public long moveMembers(@PathVariable Long fromTeamId,
+                            @RequestParam("to") Long toTeamId,
+                            @RequestParam(value = "ageGoe", required = false) Integer ageGoe) {
+        return memberTeamMover.moveMembers(fromTeamId, toTeamId, ageGoe != null ? QMember.member.age.goe(ageGoe) : null);
+    }
+
+    /**
+     * 무한 스크롤. count=true 일 때만 count 를 구하고,
+     * 이 조건 형태의 count 가 느렸다면 생략하고 /v4/members/count 로 미룬다.
+     */
+    @GetMapping("/v4/members")
+    public SliceResponse<MemberTeamDto> searchMembers4(MemberSearchCondition condition, Pageable pageable,
+                                                       @RequestParam(value = "count", defaultValue = "false") boolean count) {
+        MemberSorts.validate(pageable.getSort());
+        return queryAdmission.run(QueryCost.classify(condition, pageable, count),
+                () -> slice(condition, pageable, count));
+    }
+
+    @GetMapping("/v4/members/count")
+    public long countMembers4(MemberSearchCondition condition) {
+        return queryAdmission.run(QueryCost.classify(condition, Pageable.ofSize(1), true),
+                () -> memberRepository.searchCount(condition));
+    }
+
+    private SliceResponse<MemberTeamDto> slice(MemberSearchCondition condition, Pageable pageable, boolean count) {
+        Slice<MemberTeamDto> slice = memberRepository.searchSlice(condition, pageable);
+        if (!count) {
+            return SliceResponse.of(slice);
+        }
+        if (!slice.hasNext() && (slice.hasContent() || pageable.getOffset() == 0)) {
+            return SliceResponse.of(slice, pageable.getOffset() + slice.getNumberOfElements());
+        }
+        if (memberRepository.isCountCheap(condition)) {
+            return SliceResponse.of(slice, memberRepository.searchCount(condition));
+        }
+        return SliceResponse.deferred(slice);
     }
 }
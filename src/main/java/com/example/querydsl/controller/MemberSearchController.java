@@ -0,0 +1,29 @@
+package com.example.querydsl.controller;
+
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.search.MemberFullTextSearch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class MemberSearchController {
+
+    private final MemberFullTextSearch memberFullTextSearch;
+
+    @GetMapping("/v1/members/search")
+    public List<MemberTeamDto> search(@RequestParam("q") String query,
+                                      @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return memberFullTextSearch.search(query, Math.min(limit, 100));
+    }
+
+    @PostMapping("/v1/members/search/rebuild")
+    public int rebuild() {
+        return memberFullTextSearch.rebuild();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.querydsl.controller;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.repository.MemberJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 대량 조회용 컬럼 단위 바이너리 포맷
+ * - 배치: [행 수 int] [memberId long*] [username str*] [age int*] [teamId long*] [teamName str*]
+ * - str: [길이 int, null 이면 -1] [UTF-8 bytes], null long 은 {@link #NULL_ID}
+ * - 행 수가 0 인 배치가 스트림의 끝
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberTeamColumnarWriter {
+
+    public static final String MEDIA_TYPE = "application/x-member-columnar";
+    public static final long NULL_ID = -1L;
+    static final int BATCH_SIZE = 1024;
+
+    private final MemberJpaRepository memberJpaRepository;
+
+    @Transactional(readOnly = true)
+    public long write(MemberSearchCondition condition, OutputStream out) throws IOException {
+        long count = 0;
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        List<MemberTeamDto> batch = new ArrayList<>(BATCH_SIZE);
+        try (Stream<MemberTeamDto> rows = memberJpaRepository.streamByWhere(condition)) {
+            Iterator<MemberTeamDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == BATCH_SIZE) {
+                    count += writeBatch(data, batch);
+                }
+            }
+        }
+        count += writeBatch(data, batch);
+        data.writeInt(0);
+        data.flush();
+        return count;
+    }
+
+    private int writeBatch(DataOutputStream data, List<MemberTeamDto> batch) throws IOException {
+        int size = batch.size();
+        if (size == 0) {
+            return 0;
+        }
+        data.writeInt(size);
+        for (MemberTeamDto row : batch) {
+            writeId(data, row.getMemberId());
+        }
+        for (MemberTeamDto row : batch) {
+            writeString(data, row.getUsername());
+        }
+        for (MemberTeamDto row : batch) {
+            data.writeInt(row.getAge());
+        }
+        for (MemberTeamDto row : batch) {
+            writeId(data, row.getTeamId());
+        }
+        for (MemberTeamDto row : batch) {
+            writeString(data, row.getTeamName());
+        }
+        batch.clear();
+        return size;
+    }
+
+    private void writeId(DataOutputStream data, Long id) throws IOException {
+        data.writeLong(id != null ? id : NULL_ID);
+    }
+
+    private void writeString(DataOutputStream data, String value) throws IOException {
+        if (value == null) {
+            data.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.querydsl.controller;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.repository.MemberJpaRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 조회 결과를 List 로 모으지 않고 한 건씩 바로 JSON 으로 쓴다.
+ * - 리플렉션 기반 직렬화 대신 필드를 직접 기록
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberTeamJsonWriter {
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long write(MemberSearchCondition condition, OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<MemberTeamDto> rows = memberJpaRepository.streamByWhere(condition);
+             JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            gen.writeStartArray();
+            Iterator<MemberTeamDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writeRow(gen, iterator.next());
+                count++;
+            }
+            gen.writeEndArray();
+        }
+        return count;
+    }
+
+    private void writeRow(JsonGenerator gen, MemberTeamDto row) throws IOException {
+        gen.writeStartObject();
+        writeLong(gen, "memberId", row.getMemberId());
+        gen.writeStringField("username", row.getUsername());
+        gen.writeNumberField("age", row.getAge());
+        writeLong(gen, "teamId", row.getTeamId());
+        gen.writeStringField("teamName", row.getTeamName());
+        gen.writeEndObject();
+    }
+
+    private void writeLong(JsonGenerator gen, String name, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value);
+        }
+    }
+}
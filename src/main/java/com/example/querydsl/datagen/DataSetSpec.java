@@ -0,0 +1,27 @@
+package com.example.querydsl.datagen;
+
+import lombok.Data;
+
+/**
+ * 대량 테스트 데이터 설정. 같은 설정이면 항상 같은 데이터가 만들어진다.
+ */
+@Data
+public class DataSetSpec {
+
+    private long seed = 42L;
+    private int teams = 1_000;
+    private int members = 100_000;
+    // 서로 다른 기본 이름 수, 인기 이름에 몰리도록 Zipf 분포로 선택
+    private int distinctNames = 2_000;
+    // 팀 크기, 이름 인기도의 치우침 정도
+    private double zipfExponent = 1.1;
+    private double nullTeamRatio = 0.02;
+    private int batchSize = 1_000;
+
+    public static DataSetSpec of(int teams, int members) {
+        DataSetSpec spec = new DataSetSpec();
+        spec.setTeams(teams);
+        spec.setMembers(members);
+        return spec;
+    }
+}
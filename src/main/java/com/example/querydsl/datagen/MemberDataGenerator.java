@@ -0,0 +1,188 @@
+package com.example.querydsl.datagen;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.repository.MemberAgeHistogram;
+import com.example.querydsl.repository.MemberTableVersion;
+import com.example.querydsl.search.MemberFullTextSearch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * 결정적(seed 고정) 대량 데이터 생성기
+ * - 팀 크기, 이름 인기도: Zipf 분포 / 나이: 평균 35, 표준편차 12 정규분포(0~99)
+ * - JPA 를 거치지 않고 JDBC 배치 insert 로 적재
+ * - id 는 Hibernate 와 같은 시퀀스에서 allocationSize 단위로 예약하므로 이후 persist 와 겹치지 않고,
+ *   DDL 이 없어 호출한 트랜잭션이 롤백되면 함께 롤백된다.
+ * - 엔티티 리스너를 거치지 않으므로 적재가 커밋된 뒤 검색 색인, 나이 분포를 다시 만든다.
+ */
+@Slf4j
+@Component
+public class MemberDataGenerator {
+
+    private static final String[] SYLLABLES = {
+            "min", "jun", "seo", "yun", "ji", "ho", "woo", "hyun", "soo", "jin",
+            "ha", "eun", "do", "yeon", "tae", "kyung", "sung", "na", "ri", "bin"};
+
+    // @GeneratedValue 기본 allocationSize, 시퀀스 increment 와 같다.
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MemberFullTextSearch memberFullTextSearch;
+    private final MemberAgeHistogram memberAgeHistogram;
+    private final MemberTableVersion memberTableVersion;
+
+    public MemberDataGenerator(JdbcTemplate jdbcTemplate, MemberFullTextSearch memberFullTextSearch,
+                               MemberAgeHistogram memberAgeHistogram, MemberTableVersion memberTableVersion) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.memberFullTextSearch = memberFullTextSearch;
+        this.memberAgeHistogram = memberAgeHistogram;
+        this.memberTableVersion = memberTableVersion;
+    }
+
+    public record TeamRow(long id, String name) {
+    }
+
+    public record MemberRow(long id, String name, int age, Long teamId) {
+    }
+
+    public List<TeamRow> generateTeams(DataSetSpec spec, LongSupplier ids) {
+        List<TeamRow> teams = new ArrayList<>(spec.getTeams());
+        for (int i = 0; i < spec.getTeams(); i++) {
+            teams.add(new TeamRow(ids.getAsLong(), "team" + i));
+        }
+        return teams;
+    }
+
+    public void generateMembers(DataSetSpec spec, LongSupplier ids, List<TeamRow> teams, Consumer<MemberRow> sink) {
+        SplittableRandom random = new SplittableRandom(spec.getSeed());
+        double[] teamWeights = zipfCumulative(teams.size(), spec.getZipfExponent());
+        double[] nameWeights = zipfCumulative(spec.getDistinctNames(), spec.getZipfExponent());
+        String[] names = baseNames(spec.getDistinctNames());
+
+        for (int i = 0; i < spec.getMembers(); i++) {
+            String name = names[sample(nameWeights, random)];
+            if (random.nextBoolean()) {
+                name = name + random.nextInt(1_000);
+            }
+            int age = (int) Math.max(0, Math.min(99, Math.round(35 + 12 * gaussian(random))));
+            Long teamId = teams.isEmpty() || random.nextDouble() < spec.getNullTeamRatio()
+                    ? null
+                    : teams.get(sample(teamWeights, random)).id();
+            sink.accept(new MemberRow(ids.getAsLong(), name, age, teamId));
+        }
+    }
+
+    /**
+     * 생성해서 바로 적재. 적재한 회원 수 반환
+     */
+    public long load(DataSetSpec spec) {
+        long start = System.currentTimeMillis();
+        List<TeamRow> teams = generateTeams(spec, reserveIds("team_seq", spec.getTeams()));
+        jdbcTemplate.batchUpdate("insert into team (team_id, name) values (?, ?)", teams, spec.getBatchSize(),
+                (ps, team) -> {
+                    ps.setLong(1, team.id());
+                    ps.setString(2, team.name());
+                });
+
+        List<MemberRow> batch = new ArrayList<>(spec.getBatchSize());
+        generateMembers(spec, reserveIds("member_seq", spec.getMembers()), teams, row -> {
+            batch.add(row);
+            if (batch.size() == spec.getBatchSize()) {
+                insertMembers(batch);
+            }
+        });
+        insertMembers(batch);
+
+        memberAgeHistogram.invalidateAfterCommit();
+        memberTableVersion.increment();
+        memberFullTextSearch.rebuildAsync();
+        log.info("generated {} teams, {} members in {}ms",
+                spec.getTeams(), spec.getMembers(), System.currentTimeMillis() - start);
+        return spec.getMembers();
+    }
+
+    private void insertMembers(List<MemberRow> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into member (member_id, name, name_lower, age, version, team_id, deleted) values (?, ?, ?, ?, 0, ?, false)",
+                batch, batch.size(),
+                (ps, row) -> {
+                    ps.setLong(1, row.id());
+                    ps.setString(2, row.name());
+                    ps.setString(3, Member.normalizeName(row.name()));
+                    ps.setInt(4, row.age());
+                    ps.setObject(5, row.teamId());
+                });
+        batch.clear();
+    }
+
+    /**
+     * Hibernate pooled 옵티마이저와 같은 규칙으로 시퀀스 값 v 하나당 (v - 50, v] 구간을 사용
+     */
+    private LongSupplier reserveIds(String sequence, int count) {
+        int blocks = count / ALLOCATION_SIZE + 2;
+        List<Long> highs = jdbcTemplate.queryForList(
+                "select next value for " + sequence + " from system_range(1, ?)", Long.class, blocks);
+        Iterator<Long> iterator = highs.iterator();
+        return new LongSupplier() {
+            private long next = 1;
+            private long high = 0;
+
+            @Override
+            public long getAsLong() {
+                while (next > high) {
+                    high = iterator.next();
+                    next = Math.max(1, high - ALLOCATION_SIZE + 1);
+                }
+                return next++;
+            }
+        };
+    }
+
+    private static String[] baseNames(int count) {
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            int first = i % SYLLABLES.length;
+            int second = (i / SYLLABLES.length) % SYLLABLES.length;
+            int third = i / (SYLLABLES.length * SYLLABLES.length);
+            names[i] = SYLLABLES[first] + SYLLABLES[second] + (third > 0 ? SYLLABLES[third % SYLLABLES.length] + third : "");
+        }
+        return names;
+    }
+
+    private static double[] zipfCumulative(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    // Box-Muller
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.querydsl.dto;
+
+import java.util.List;
+
+/**
+ * 행 수 상한이 적용된 목록
+ *
+ * @param truncated 상한(limit)을 넘는 행이 더 있어 잘렸는지
+ */
+public record LimitedResult<T>(List<T> content, boolean truncated, int limit) {
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 public class MemberSearchCondition {
     //회원명, 팀명, 나이(ageGoe, ageLoe)
     private String username;
+    private NameMatch usernameMatch = NameMatch.EXACT;
     private String teamName;
     private Integer ageGoe;
     private Integer ageLoe;
@@ -0,0 +1,12 @@
+package com.example.querydsl.dto;
+
+/**
+ * 회원명 검색 방식
+ */
+public enum NameMatch {
+    EXACT,
+    PREFIX,
+    IGNORE_CASE,
+    IGNORE_CASE_PREFIX,
+    CONTAINS
+}
@@ -0,0 +1,43 @@
+package com.example.querydsl.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * 무한 스크롤 응답
+ * - totalElements 는 count 를 요청했고 싸게 구할 수 있을 때만 채운다.
+ * - countDeferred 가 true 면 count 엔드포인트로 따로 조회
+ */
+@Getter
+public class SliceResponse<T> {
+
+    private final List<T> content;
+    private final int page;
+    private final int size;
+    private final boolean hasNext;
+    private final Long totalElements;
+    private final boolean countDeferred;
+
+    private SliceResponse(List<T> content, int page, int size, boolean hasNext, Long totalElements, boolean countDeferred) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.totalElements = totalElements;
+        this.countDeferred = countDeferred;
+    }
+
+    public static <T> SliceResponse<T> of(Slice<T> slice) {
+        return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), null, false);
+    }
+
+    public static <T> SliceResponse<T> of(Slice<T> slice, long totalElements) {
+        return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), totalElements, false);
+    }
+
+    public static <T> SliceResponse<T> deferred(Slice<T> slice) {
+        return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), null, true);
+    }
+}
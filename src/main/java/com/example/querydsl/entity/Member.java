@@ -1,9 +1,20 @@
 package com.example.querydsl.entity;
 
+import com.example.querydsl.search.SearchIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.SoftDelete;
+
+import java.util.Locale;
 
 @Entity
+@SoftDelete
+@EntityListeners(SearchIndexListener.class)
+@Table(indexes = {
+        @Index(name = "idx_member_name", columnList = "name"),
+        @Index(name = "idx_member_name_lower", columnList = "name_lower"),
+        @Index(name = "idx_member_age", columnList = "age")})
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name", "age"})
@@ -14,8 +25,17 @@ public class Member {
     @Column(name = "member_id")
     private Long id;
     private String name;
+
+    // 대소문자 무시 검색용, 항상 name 과 함께 변경
+    @Setter(AccessLevel.NONE)
+    @Column(name = "name_lower")
+    private String nameLower;
     private int age;
 
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
@@ -29,7 +49,7 @@ public class Member {
     }
 
     public Member(String name, int age, Team team) {
-        this.name = name;
+        setName(name);
         this.age = age;
 
         if (team != null) {
@@ -37,8 +57,20 @@ public class Member {
         }
     }
 
+    public void setName(String name) {
+        this.name = name;
+        this.nameLower = normalizeName(name);
+    }
+
+    public static String normalizeName(String name) {
+        return name != null ? name.toLowerCase(Locale.ROOT) : null;
+    }
+
     public void changeTeam(Team team) {
         this.team = team;
-        team.getMembers().add(this);
+        // 아직 로딩하지 않은 members 컬렉션은 건드리지 않는다 (지연 로딩으로 전체 회원 조회 방지)
+        if (Hibernate.isInitialized(team.getMembers())) {
+            team.getMembers().add(this);
+        }
     }
 }
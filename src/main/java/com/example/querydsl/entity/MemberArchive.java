@@ -0,0 +1,32 @@
+package com.example.querydsl.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 삭제된 회원 보관 테이블. MemberArchiveJob 이 member 에서 옮겨온다.
+ * - 검색 대상 테이블(member)에는 살아있는 회원과 아직 옮기지 않은 삭제 회원만 남는다.
+ */
+@Entity
+@Table(name = "member_archive")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MemberArchive {
+
+    @Id
+    @Column(name = "member_id")
+    private Long id;
+    private String name;
+    @Column(name = "name_lower")
+    private String nameLower;
+    private int age;
+    private Long version;
+    @Column(name = "team_id")
+    private Long teamId;
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,35 @@
+package com.example.querydsl.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 변경 이벤트 outbox. 변경과 같은 트랜잭션에서 JDBC 로 기록되고, 커밋 후 OutboxPublisher 가 내보낸다.
+ */
+@Entity
+@Table(name = "outbox_event", indexes = @Index(name = "idx_outbox_published", columnList = "published, id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "aggregate_type")
+    private String aggregateType;
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+    // 벌크 연산으로 영향받은 id 목록 (쉼표 구분), 알 수 없으면 detail 에 조건
+    @Lob
+    @Column(name = "entity_ids")
+    private String entityIds;
+    private String operation;
+    private String detail;
+    @Column(name = "occurred_at")
+    private LocalDateTime occurredAt;
+    private boolean published;
+}
@@ -0,0 +1,38 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조건 형태(어떤 필터가 있는지)별 count 쿼리 지연시간 이동평균
+ * - 한 번도 측정하지 않은 형태는 싸다고 보고 측정부터 한다.
+ */
+@Component
+public class CountLatencyTracker {
+
+    static final long CHEAP_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final double ALPHA = 0.2;
+
+    private final Map<String, Double> averages = new ConcurrentHashMap<>();
+
+    public void record(MemberSearchCondition condition, long nanos) {
+        averages.merge(shapeOf(condition), (double) nanos,
+                (previous, sample) -> previous + ALPHA * (sample - previous));
+    }
+
+    public boolean isCheap(MemberSearchCondition condition) {
+        Double average = averages.get(shapeOf(condition));
+        return average == null || average < CHEAP_THRESHOLD_NANOS;
+    }
+
+    static String shapeOf(MemberSearchCondition condition) {
+        return (condition.getUsername() != null ? "name:" + condition.getUsernameMatch() : "-")
+                + "|" + (condition.getTeamName() != null ? "team" : "-")
+                + "|" + (condition.getAgeGoe() != null ? "goe" : "-")
+                + "|" + (condition.getAgeLoe() != null ? "loe" : "-");
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.querydsl.repository;
+
+/**
+ * 고정 크기 구간 합 트리 (Binary Indexed Tree), 갱신과 구간 합 모두 O(log n)
+ */
+final class FenwickTree {
+
+    private final long[] tree;
+
+    FenwickTree(int size) {
+        this.tree = new long[size + 1];
+    }
+
+    void add(int index, long delta) {
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * [0, index] 합
+     */
+    long prefixSum(int index) {
+        long sum = 0;
+        for (int i = Math.min(index + 1, tree.length - 1); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    long rangeSum(int from, int to) {
+        if (to < from || to < 0) {
+            return 0;
+        }
+        return prefixSum(to) - (from > 0 ? prefixSum(from - 1) : 0);
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+
+/**
+ * 나이 분포 (전체, 팀별 Fenwick tree)
+ * - 나이/팀 조건만 있는 검색의 count 를 count 쿼리 없이 O(log n) 으로 계산
+ * - 커밋된 변경만 반영 ({@link MemberAgeHistogramListener})
+ * - 벌크 연산 후에는 {@link #invalidateAfterCommit()}, 다음 조회 때 백그라운드에서 한 번만 다시 만들고
+ *   그동안은 empty (호출하는 쪽이 count 쿼리로 대체)
+ * - 0 미만, MAX_AGE 이상은 양 끝 버킷(underflow/overflow)에 모은다.
+ */
+@Slf4j
+@Component
+public class MemberAgeHistogram {
+
+    static final int MAX_AGE = 256;
+    // [underflow, 0 .. MAX_AGE - 1, overflow]
+    private static final int BUCKETS = MAX_AGE + 2;
+    private static final int UNDERFLOW = 0;
+    private static final int OVERFLOW = BUCKETS - 1;
+    // 다시 만드는 동안 변경이 들어와 버려지면 몇 번까지 이어서 시도할지
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+
+    private final EntityManagerFactory emf;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("member-age-histogram").daemon().factory());
+
+    private FenwickTree global = new FenwickTree(BUCKETS);
+    private Map<Long, FenwickTree> byTeam = new HashMap<>();
+    private Map<Long, String> teamNames = new HashMap<>();
+    private boolean valid = false;
+    private long generation = 0;
+
+    public MemberAgeHistogram(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    /**
+     * 쓰기 트랜잭션 안에서는 아직 커밋되지 않은 자기 변경이 빠지므로 사용하지 않는다.
+     */
+    public OptionalLong count(MemberSearchCondition condition) {
+        if (condition.getUsername() != null) {
+            return OptionalLong.empty();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return OptionalLong.empty();
+        }
+        if (!isValid()) {
+            rebuildAsync();
+            return OptionalLong.empty();
+        }
+        return countBetween(condition.getTeamName(), condition.getAgeGoe(), condition.getAgeLoe());
+    }
+
+    synchronized OptionalLong countBetween(String teamName, Integer ageGoe, Integer ageLoe) {
+        if (!valid) {
+            return OptionalLong.empty();
+        }
+        if (teamName == null) {
+            return rangeSum(global, ageGoe, ageLoe);
+        }
+        long sum = 0;
+        for (Map.Entry<Long, String> entry : teamNames.entrySet()) {
+            FenwickTree tree = byTeam.get(entry.getKey());
+            if (teamName.equals(entry.getValue()) && tree != null) {
+                OptionalLong count = rangeSum(tree, ageGoe, ageLoe);
+                if (count.isEmpty()) {
+                    return count;
+                }
+                sum += count.getAsLong();
+            }
+        }
+        return OptionalLong.of(sum);
+    }
+
+    /**
+     * 양 끝 버킷은 구간이 버킷 전체를 덮을 때만 더한다.
+     * 일부만 걸치는데 그 버킷에 값이 있으면 알 수 없으므로 empty
+     */
+    private static OptionalLong rangeSum(FenwickTree tree, Integer ageGoe, Integer ageLoe) {
+        long from = ageGoe != null ? ageGoe : Long.MIN_VALUE;
+        long to = ageLoe != null ? ageLoe : Long.MAX_VALUE;
+        if (from > to) {
+            return OptionalLong.of(0);
+        }
+        long sum = 0;
+        if (from < 0) {
+            long underflow = tree.rangeSum(UNDERFLOW, UNDERFLOW);
+            if (ageGoe == null && to >= -1) {
+                sum += underflow;
+            } else if (underflow > 0) {
+                return OptionalLong.empty();
+            }
+        }
+        if (to >= MAX_AGE) {
+            long overflow = tree.rangeSum(OVERFLOW, OVERFLOW);
+            if (ageLoe == null && from <= MAX_AGE) {
+                sum += overflow;
+            } else if (overflow > 0) {
+                return OptionalLong.empty();
+            }
+        }
+        long lo = Math.max(from, 0);
+        long hi = Math.min(to, MAX_AGE - 1);
+        if (lo <= hi) {
+            sum += tree.rangeSum(bucket((int) lo), bucket((int) hi));
+        }
+        return OptionalLong.of(sum);
+    }
+
+    private static int bucket(int age) {
+        if (age < 0) {
+            return UNDERFLOW;
+        }
+        return age >= MAX_AGE ? OVERFLOW : age + 1;
+    }
+
+    synchronized void add(Long teamId, int age, int delta) {
+        generation++;
+        global.add(bucket(age), delta);
+        if (teamId != null) {
+            byTeam.computeIfAbsent(teamId, k -> new FenwickTree(BUCKETS)).add(bucket(age), delta);
+        }
+    }
+
+    synchronized void move(Long oldTeamId, int oldAge, Long newTeamId, int newAge) {
+        add(oldTeamId, oldAge, -1);
+        add(newTeamId, newAge, 1);
+    }
+
+    synchronized void putTeam(Long teamId, String name) {
+        generation++;
+        teamNames.put(teamId, name);
+    }
+
+    synchronized void removeTeam(Long teamId) {
+        generation++;
+        teamNames.remove(teamId);
+        byTeam.remove(teamId);
+    }
+
+    public synchronized void invalidate() {
+        generation++;
+        valid = false;
+    }
+
+    /**
+     * 벌크 연산은 커밋된 뒤에 무효화해야 롤백 전 데이터로 다시 만들지 않는다.
+     */
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+
+    /**
+     * 한 회원의 (팀, 나이)가 바뀐 벌크 update 를 커밋 후 O(log n) 으로 반영. 다시 만들 필요가 없다.
+     */
+    public void moveAfterCommit(Long oldTeamId, int oldAge, Long newTeamId, int newAge) {
+        Runnable apply = () -> move(oldTeamId, oldAge, newTeamId, newAge);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    synchronized boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * 요청 스레드를 막지 않도록 백그라운드에서 다시 만든다. 이미 진행 중이면 합류하지 않고 돌아간다.
+     */
+    void rebuildAsync() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuilder.execute(() -> {
+                try {
+                    for (int attempt = 0; attempt < MAX_REBUILD_ATTEMPTS && !isValid(); attempt++) {
+                        if (rebuild()) {
+                            return;
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("age histogram rebuild failed", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            rebuilding.set(false);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * 별도 EntityManager 로 커밋된 데이터만 읽어서 다시 만든다.
+     * 다시 만드는 동안 다른 변경이 반영됐다면 버리고 false
+     */
+    boolean rebuild() {
+        long startGeneration;
+        synchronized (this) {
+            startGeneration = generation;
+        }
+
+        FenwickTree newGlobal = new FenwickTree(BUCKETS);
+        Map<Long, FenwickTree> newByTeam = new HashMap<>();
+        Map<Long, String> newTeamNames = new HashMap<>();
+
+        List<Tuple> rows;
+        List<Tuple> teams;
+        EntityManager em = emf.createEntityManager();
+        try {
+            JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+            rows = queryFactory
+                    .select(member.team.id, member.age, member.count())
+                    .from(member)
+                    .groupBy(member.team.id, member.age)
+                    .fetch();
+            teams = queryFactory
+                    .select(team.id, team.name)
+                    .from(team)
+                    .fetch();
+        } finally {
+            em.close();
+        }
+
+        for (Tuple row : rows) {
+            int bucket = bucket(row.get(member.age));
+            long count = row.get(member.count());
+            Long teamId = row.get(member.team.id);
+            newGlobal.add(bucket, count);
+            if (teamId != null) {
+                newByTeam.computeIfAbsent(teamId, k -> new FenwickTree(BUCKETS)).add(bucket, count);
+            }
+        }
+        teams.forEach(row -> newTeamNames.put(row.get(team.id), row.get(team.name)));
+
+        synchronized (this) {
+            if (generation != startGeneration) {
+                return false;
+            }
+            global = newGlobal;
+            byTeam = newByTeam;
+            teamNames = newTeamNames;
+            valid = true;
+            return true;
+        }
+    }
+}
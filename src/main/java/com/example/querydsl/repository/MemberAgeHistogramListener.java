@@ -0,0 +1,97 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * 커밋된 Member, Team 변경을 나이 분포에 반영하는 Hibernate 이벤트 리스너
+ * - 변경 전 상태(oldState)로 이전 나이/팀을 빼고 새 값을 더한다.
+ * - SessionFactory 를 만들 때 등록되므로({@code EntityEventListenerConfig}) EntityManagerFactory 에 기대는 분포는 나중에 찾는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberAgeHistogramListener implements
+        PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final ObjectProvider<MemberAgeHistogram> histogramProvider;
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            histogram().add(teamId(member.getTeam()), member.getAge(), 1);
+        } else if (event.getEntity() instanceof Team team) {
+            histogram().putTeam(team.getId(), team.getName());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Team team) {
+            histogram().putTeam(team.getId(), team.getName());
+            return;
+        }
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            histogram().invalidate();
+            return;
+        }
+        int age = propertyIndex(event.getPersister(), "age");
+        int team = propertyIndex(event.getPersister(), "team");
+        histogram().add(teamId(oldState[team]), (Integer) oldState[age], -1);
+        histogram().add(teamId(event.getState()[team]), (Integer) event.getState()[age], 1);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Team team) {
+            histogram().removeTeam(team.getId());
+            return;
+        }
+        Object[] deletedState = event.getDeletedState();
+        int age = propertyIndex(event.getPersister(), "age");
+        int team = propertyIndex(event.getPersister(), "team");
+        histogram().add(teamId(deletedState[team]), (Integer) deletedState[age], -1);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == Member.class || type == Team.class;
+    }
+
+    private MemberAgeHistogram histogram() {
+        return histogramProvider.getObject();
+    }
+
+    private int propertyIndex(EntityPersister persister, String name) {
+        return Arrays.asList(persister.getPropertyNames()).indexOf(name);
+    }
+
+    private Long teamId(Object team) {
+        return team instanceof Team t ? t.getId() : null;
+    }
+}
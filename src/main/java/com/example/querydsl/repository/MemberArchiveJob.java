@@ -0,0 +1,44 @@
+package com.example.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * soft delete(@SoftDelete)된 회원을 member_archive 로 옮긴다.
+ * - JPQL/Querydsl 은 삭제된 행을 볼 수 없으므로 native SQL 사용
+ * - 보관 데이터가 아무리 많아도 member 테이블 크기와 검색 비용은 살아있는 회원 기준으로 유지된다.
+ * - insert 와 delete 사이에 다른 트랜잭션이 커밋한 삭제 회원은 보관 행이 없으므로 지우지 않고 다음 실행으로 넘긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberArchiveJob {
+
+    private final EntityManager em;
+
+    @Scheduled(fixedDelayString = "${member.archive.interval:PT10M}",
+            initialDelayString = "${member.archive.interval:PT10M}")
+    @Transactional
+    public int archiveDeleted() {
+        int archived = em.createNativeQuery("""
+                        insert into member_archive (member_id, name, name_lower, age, version, team_id, archived_at)
+                        select member_id, name, name_lower, age, version, team_id, current_timestamp
+                        from member m
+                        where m.deleted = true
+                          and not exists (select 1 from member_archive a where a.member_id = m.member_id)""")
+                .executeUpdate();
+        int removed = em.createNativeQuery("""
+                        delete from member m
+                        where m.deleted = true
+                          and exists (select 1 from member_archive a where a.member_id = m.member_id)""")
+                .executeUpdate();
+        if (archived > 0 || removed > 0) {
+            log.info("archived {} deleted members, removed {} from member", archived, removed);
+        }
+        return archived;
+    }
+}
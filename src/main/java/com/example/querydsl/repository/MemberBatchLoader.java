@@ -0,0 +1,162 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.entity.Member;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+
+/**
+ * findById 묶음 처리 (DataLoader 방식)
+ * - window 동안 들어온 id 를 모아 member.id.in(...) 한 번으로 조회하고 각 호출자의 future 를 완료
+ * - maxBatchSize 가 차면 기다리지 않고 바로 조회
+ * - in 절 파라미터 수는 2의 거듭제곱으로 맞춰 SQL 재사용
+ * - 별도 EntityManager 로 조회하므로 반환되는 Member 는 준영속 상태, team 은 fetch join 으로 채워져 있다.
+ * - 호출자는 가상 스레드에서 join() 으로 기다려도 된다.
+ * - 조회가 실패하거나 실행기가 닫혀 있어도 future 는 항상 예외로 완료된다 (join 이 멈추지 않는다).
+ */
+@Component
+public class MemberBatchLoader {
+
+    private final EntityManagerFactory emf;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizes;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("member-batch-loader").daemon().factory());
+    private final ExecutorService queryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private Map<Long, List<CompletableFuture<Optional<Member>>>> pending = new HashMap<>();
+    private boolean scheduled = false;
+
+    public MemberBatchLoader(EntityManagerFactory emf, MeterRegistry registry,
+                             @Value("${member.loader.window:2ms}") Duration window,
+                             @Value("${member.loader.max-batch-size:256}") int maxBatchSize) {
+        this.emf = emf;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizes = DistributionSummary.builder("member.loader.batch.size")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public CompletableFuture<Optional<Member>> load(Long id) {
+        CompletableFuture<Optional<Member>> future = new CompletableFuture<>();
+        Map<Long, List<CompletableFuture<Optional<Member>>>> full = null;
+        synchronized (this) {
+            pending.computeIfAbsent(id, k -> new ArrayList<>()).add(future);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (!scheduled) {
+                scheduled = true;
+                try {
+                    scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    full = takePending();
+                }
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    public List<Optional<Member>> loadAll(List<Long> ids) {
+        List<CompletableFuture<Optional<Member>>> futures = ids.stream().map(this::load).toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private void flush() {
+        Map<Long, List<CompletableFuture<Optional<Member>>>> batch;
+        synchronized (this) {
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    private Map<Long, List<CompletableFuture<Optional<Member>>>> takePending() {
+        Map<Long, List<CompletableFuture<Optional<Member>>>> batch = pending;
+        pending = new HashMap<>();
+        scheduled = false;
+        return batch;
+    }
+
+    private void dispatch(Map<Long, List<CompletableFuture<Optional<Member>>>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            queryExecutor.execute(() -> {
+                try {
+                    Map<Long, Member> found = fetch(batch.keySet());
+                    batch.forEach((id, futures) ->
+                            futures.forEach(f -> f.complete(Optional.ofNullable(found.get(id)))));
+                } catch (Throwable e) {
+                    fail(batch, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            fail(batch, e);
+        }
+    }
+
+    private static void fail(Map<Long, List<CompletableFuture<Optional<Member>>>> batch, Throwable e) {
+        batch.values().forEach(futures -> futures.forEach(f -> f.completeExceptionally(e)));
+    }
+
+    private Map<Long, Member> fetch(Set<Long> ids) {
+        batchSizes.record(ids.size());
+        EntityManager em = emf.createEntityManager();
+        try {
+            List<Member> members = new JPAQueryFactory(em)
+                    .selectFrom(member)
+                    .leftJoin(member.team, team).fetchJoin()
+                    .where(member.id.in(padded(ids)))
+                    .fetch();
+            Map<Long, Member> byId = new HashMap<>();
+            members.forEach(m -> byId.put(m.getId(), m));
+            return byId;
+        } finally {
+            em.close();
+        }
+    }
+
+    static List<Long> padded(Set<Long> ids) {
+        List<Long> list = new ArrayList<>(ids);
+        int size = list.size() <= 1 ? list.size() : Integer.highestOneBit(list.size() - 1) << 1;
+        Long last = list.get(list.size() - 1);
+        while (list.size() < size) {
+            list.add(last);
+        }
+        return list;
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+        queryExecutor.shutdown();
+    }
+}
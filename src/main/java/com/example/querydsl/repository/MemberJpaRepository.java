@@ -1,10 +1,16 @@
 package com.example.querydsl.repository;
 
+import com.example.querydsl.cdc.ChangeCapture;
+import com.example.querydsl.dto.LimitedResult;
 import com.example.querydsl.dto.MemberSearchCondition;
 import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.dto.NameMatch;
 import com.example.querydsl.dto.QMemberTeamDto;
 import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.search.MemberSearchIndex;
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
@@ -12,9 +18,13 @@ import com.querydsl.core.types.dsl.StringPath;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static com.example.querydsl.entity.QMember.*;
 import static com.example.querydsl.entity.QTeam.*;
@@ -25,30 +35,148 @@ public class MemberJpaRepository {
 
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final MemberAgeHistogram memberAgeHistogram;
+    private final MemberSearchIndex memberSearchIndex;
+    private final MemberBatchLoader memberBatchLoader;
+    private final ChangeCapture changeCapture;
+    private final ResultGuard resultGuard;
 
-    public MemberJpaRepository(EntityManager em) {
+    public MemberJpaRepository(EntityManager em, MemberAgeHistogram memberAgeHistogram,
+                               MemberSearchIndex memberSearchIndex, MemberBatchLoader memberBatchLoader,
+                               ChangeCapture changeCapture, ResultGuard resultGuard) {
         this.em = em;
         this.queryFactory = new JPAQueryFactory(em);
+        this.memberAgeHistogram = memberAgeHistogram;
+        this.memberSearchIndex = memberSearchIndex;
+        this.memberBatchLoader = memberBatchLoader;
+        this.changeCapture = changeCapture;
+        this.resultGuard = resultGuard;
     }
 
     public void save(Member member) {
         em.persist(member);
     }
 
+    /**
+     * 트랜잭션 밖에서는 동시에 들어온 조회를 MemberBatchLoader 로 묶는다 (준영속, team 포함).
+     * 트랜잭션 안에서는 변경 감지와 아직 커밋되지 않은 변경이 보여야 하므로 em.find
+     */
     public Optional<Member> findById(Long id) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return memberBatchLoader.load(id).join();
+        }
         Member findMember = em.find(Member.class, id);
         return Optional.ofNullable(findMember);
     }
 
+    /**
+     * 버전이 expectedVersion 일 때만 팀을 변경 (compare-and-set, 한 번의 update)
+     * - 충돌하면 false, 재시도 여부는 호출하는 쪽에서 결정
+     * - 벌크 update 이므로 영속성 컨텍스트의 Member 는 갱신되지 않는다.
+     * - 엔티티 리스너를 거치지 않으므로 나이 분포와 검색 색인은 커밋 후 직접 갱신한다.
+     */
+    public boolean changeTeamIfVersion(Long memberId, Long expectedVersion, Long teamId) {
+        Tuple before = stateAt(memberId, expectedVersion);
+        long updated = queryFactory
+                .update(member)
+                .set(member.team, em.getReference(Team.class, teamId))
+                .set(member.version, member.version.add(1))
+                .where(member.id.eq(memberId),
+                        member.version.eq(expectedVersion))
+                .execute();
+        if (updated == 1) {
+            if (before != null) {
+                // 나이는 그대로, 팀별 분포만 옮긴다.
+                int age = before.get(member.age);
+                memberAgeHistogram.moveAfterCommit(before.get(member.team.id), age, teamId, age);
+            } else {
+                memberAgeHistogram.invalidateAfterCommit();
+            }
+            afterCommit(() -> memberSearchIndex.moveMembers(List.of(memberId), teamId));
+            changeCapture.recordBulk(em, "Member", "UPDATE", List.of(memberId), null);
+        }
+        return updated == 1;
+    }
+
+    public boolean changeAgeIfVersion(Long memberId, Long expectedVersion, int age) {
+        Tuple before = stateAt(memberId, expectedVersion);
+        long updated = queryFactory
+                .update(member)
+                .set(member.age, age)
+                .set(member.version, member.version.add(1))
+                .where(member.id.eq(memberId),
+                        member.version.eq(expectedVersion))
+                .execute();
+        if (updated == 1) {
+            if (before != null) {
+                Long teamId = before.get(member.team.id);
+                memberAgeHistogram.moveAfterCommit(teamId, before.get(member.age), teamId, age);
+            } else {
+                memberAgeHistogram.invalidateAfterCommit();
+            }
+            changeCapture.recordBulk(em, "Member", "UPDATE", List.of(memberId), null);
+        }
+        return updated == 1;
+    }
+
+    /**
+     * expectedVersion 일 때의 (나이, 팀). 버전이 같으면 update 대상 행의 값과 같다.
+     * 읽은 뒤에야 그 버전이 된 경우(null)는 분포를 다시 만든다.
+     */
+    private Tuple stateAt(Long memberId, Long expectedVersion) {
+        return queryFactory
+                .select(member.age, member.team.id)
+                .from(member)
+                .where(member.id.eq(memberId),
+                        member.version.eq(expectedVersion))
+                .fetchOne();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 나이 벌크 증감. 영속성 컨텍스트를 거치지 않으므로 나이 분포도 커밋 후 다시 만든다.
+     */
+    public long addAgeBulk(int delta, Integer ageLt) {
+        long count = queryFactory
+                .update(member)
+                .set(member.age, member.age.add(delta))
+                .where(ageLt != null ? member.age.lt(ageLt) : null)
+                .execute();
+        memberAgeHistogram.invalidateAfterCommit();
+        if (count > 0) {
+            changeCapture.recordBulk(em, "Member", "BULK_UPDATE", null,
+                    "age += " + delta + (ageLt != null ? " where age < " + ageLt : ""));
+        }
+        return count;
+    }
+
     public List<Member> findAll() {
         return em.createQuery("select m from Member m", Member.class)
                 .getResultList();
     }
 
+    /**
+     * id 순으로 최대 member.result.max-rows 건 (넘으면 잘라서 반환)
+     */
     public List<Member> findAll_QueryDSL() {
-        return queryFactory
+        List<Member> members = queryFactory
                 .selectFrom(member)
+                .orderBy(member.id.asc())
+                .limit(resultGuard.probeLimit())
                 .fetch();
+        return resultGuard.cap(members, "findAll_QueryDSL").content();
     }
 
     public List<Member> findByName(String name) {
@@ -67,7 +195,7 @@ public class MemberJpaRepository {
     public List<MemberTeamDto> searchByBuilder(MemberSearchCondition condition) {
         BooleanBuilder builder = new BooleanBuilder();
         if (hasText(condition.getUsername())) {
-            builder.and(member.name.eq(condition.getUsername()));
+            builder.and(usernameEq(condition.getUsername(), condition.getUsernameMatch()));
         }
         if (hasText(condition.getTeamName())) {
             builder.and(team.name.eq(condition.getTeamName()));
@@ -109,7 +237,14 @@ public class MemberJpaRepository {
     }
 
     public List<MemberTeamDto> searchByWhere(MemberSearchCondition condition) {
-        return queryFactory
+        return searchByWhereLimited(condition).content();
+    }
+
+    /**
+     * id 순으로 최대 member.result.max-rows 건, 잘렸는지 함께 반환. 전체가 필요하면 streamByWhere
+     */
+    public LimitedResult<MemberTeamDto> searchByWhereLimited(MemberSearchCondition condition) {
+        List<MemberTeamDto> rows = queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.name,
@@ -119,16 +254,54 @@ public class MemberJpaRepository {
                 .from(member)
                 .leftJoin(member.team, team)
                 .where(
-                    usernameEq(condition.getUsername()),
+                    usernameEq(condition.getUsername(), condition.getUsernameMatch()),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe()))
+                .orderBy(member.id.asc())
+                .limit(resultGuard.probeLimit())
                 .fetch();
+        return resultGuard.cap(rows, "searchByWhere");
+    }
 
+    public List<MemberTeamDto> findByIds(Collection<Long> ids) {
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.name,
+                        member.age,
+                        team.id,
+                        team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(member.id.in(ids))
+                .fetch();
+    }
+
+    /**
+     * 결과를 List 로 모으지 않고 커서로 한 건씩 읽는다.
+     * - 호출하는 쪽에서 트랜잭션 안에서 사용하고 반드시 close 해야 한다.
+     */
+    public Stream<MemberTeamDto> streamByWhere(MemberSearchCondition condition) {
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.name,
+                        member.age,
+                        team.id,
+                        team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameEq(condition.getUsername(), condition.getUsernameMatch()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()))
+                .stream();
     }
 
-    private BooleanExpression usernameEq(String username) {
-        return username != null ? member.name.eq(username) : null;
+    private BooleanExpression usernameEq(String username, NameMatch usernameMatch) {
+        return MemberNamePredicates.nameMatches(username, usernameMatch);
     }
 
     private BooleanExpression teamNameEq(String teamName) {
@@ -0,0 +1,33 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.NameMatch;
+import com.example.querydsl.entity.Member;
+import com.querydsl.core.types.dsl.BooleanExpression;
+
+import static com.example.querydsl.entity.QMember.member;
+
+/**
+ * 검색 방식별로 인덱스를 탈 수 있는 회원명 조건을 만든다.
+ * - 대소문자 무시는 lower(name) 대신 정규화된 name_lower 컬럼을 사용
+ * - 접두어 검색은 like 'xxx%' 로 인덱스 범위 스캔
+ * - CONTAINS 는 like '%xxx%' 라 인덱스를 탈 수 없다.
+ */
+final class MemberNamePredicates {
+
+    private MemberNamePredicates() {
+    }
+
+    static BooleanExpression nameMatches(String username, NameMatch match) {
+        if (username == null) {
+            return null;
+        }
+        String normalized = Member.normalizeName(username);
+        return switch (match != null ? match : NameMatch.EXACT) {
+            case EXACT -> member.name.eq(username);
+            case PREFIX -> member.name.startsWith(username);
+            case IGNORE_CASE -> member.nameLower.eq(normalized);
+            case IGNORE_CASE_PREFIX -> member.nameLower.startsWith(normalized);
+            case CONTAINS -> member.nameLower.contains(normalized);
+        };
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.dto.NameMatch;
+import com.example.querydsl.dto.QMemberTeamDto;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+
+/**
+ * 전체 조회(export, 리포트)용 병렬 스캔
+ * - member.id 범위를 N 개로 나누고, 구간마다 별도의 EntityManager(커넥션)로 동시에 조회
+ * - 구간 안에서는 member.id 키셋 페이징으로 CHUNK_SIZE 씩 읽는다.
+ * - 동시에 커넥션을 잡는 파티션 수는 member.scan.max-concurrency, 기본은 커넥션 풀의 절반
+ *   (나머지는 일반 요청 몫). 파티션이 더 많으면 순서대로 기다린다.
+ */
+@Repository
+public class MemberPartitionScanner {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private final EntityManagerFactory emf;
+    private final Semaphore connections;
+
+    public MemberPartitionScanner(EntityManagerFactory emf, DataSource dataSource,
+                                  @Value("${member.scan.max-concurrency:0}") int maxConcurrency) {
+        this.emf = emf;
+        this.connections = new Semaphore(maxConcurrency > 0 ? maxConcurrency : defaultConcurrency(dataSource), true);
+    }
+
+    private static int defaultConcurrency(DataSource dataSource) {
+        int poolSize = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+        return Math.max(1, poolSize / 2);
+    }
+
+    /**
+     * 파티션 순서대로 이어 붙여 member.id 오름차순 결과를 반환
+     */
+    public List<MemberTeamDto> scanOrdered(MemberSearchCondition condition, int partitions) {
+        List<MemberTeamDto> result = new ArrayList<>();
+        for (List<MemberTeamDto> chunk : runPartitions(condition, partitions, null)) {
+            result.addAll(chunk);
+        }
+        return result;
+    }
+
+    /**
+     * 순서 없이 조회되는 대로 sink 에 전달. sink 는 여러 스레드에서 동시에 호출된다.
+     */
+    public void scanUnordered(MemberSearchCondition condition, int partitions, Consumer<MemberTeamDto> sink) {
+        runPartitions(condition, partitions, sink);
+    }
+
+    private List<List<MemberTeamDto>> runPartitions(MemberSearchCondition condition, int partitions,
+                                                    Consumer<MemberTeamDto> sink) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("partitions must be positive: " + partitions);
+        }
+        List<long[]> ranges = idRanges(partitions);
+        List<List<MemberTeamDto>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<MemberTeamDto>>> futures = new ArrayList<>();
+            for (long[] range : ranges) {
+                futures.add(executor.submit(() -> scanRangeWithPermit(condition, range[0], range[1], sink)));
+            }
+            for (Future<List<MemberTeamDto>> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("partition scan interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("partition scan failed", e.getCause());
+        }
+        return results;
+    }
+
+    private List<long[]> idRanges(int partitions) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            Tuple bounds = new JPAQueryFactory(em)
+                    .select(member.id.min(), member.id.max())
+                    .from(member)
+                    .fetchOne();
+            List<long[]> ranges = new ArrayList<>();
+            if (bounds == null || bounds.get(member.id.min()) == null) {
+                return ranges;
+            }
+            long min = bounds.get(member.id.min());
+            long max = bounds.get(member.id.max());
+            long step = (max - min) / partitions + 1;
+            for (long lo = min; lo <= max; lo += step) {
+                ranges.add(new long[]{lo, Math.min(lo + step - 1, max)});
+            }
+            return ranges;
+        } finally {
+            em.close();
+        }
+    }
+
+    private List<MemberTeamDto> scanRangeWithPermit(MemberSearchCondition condition, long lo, long hi,
+                                                    Consumer<MemberTeamDto> sink) throws InterruptedException {
+        connections.acquire();
+        try {
+            return scanRange(condition, lo, hi, sink);
+        } finally {
+            connections.release();
+        }
+    }
+
+    /**
+     * sink 가 null 이면 구간 전체를 모아 반환, 아니면 CHUNK_SIZE 씩 sink 로 넘기고 빈 목록 반환
+     */
+    private List<MemberTeamDto> scanRange(MemberSearchCondition condition, long lo, long hi,
+                                          Consumer<MemberTeamDto> sink) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+            List<MemberTeamDto> collected = new ArrayList<>();
+            long from = lo;
+            while (true) {
+                List<MemberTeamDto> chunk = queryFactory
+                        .select(new QMemberTeamDto(
+                                member.id,
+                                member.name,
+                                member.age,
+                                team.id,
+                                team.name))
+                        .from(member)
+                        .leftJoin(member.team, team)
+                        .where(
+                                member.id.between(from, hi),
+                                usernameEq(condition.getUsername(), condition.getUsernameMatch()),
+                                teamNameEq(condition.getTeamName()),
+                                ageGoe(condition.getAgeGoe()),
+                                ageLoe(condition.getAgeLoe()))
+                        .orderBy(member.id.asc())
+                        .limit(CHUNK_SIZE)
+                        .fetch();
+                if (sink == null) {
+                    collected.addAll(chunk);
+                } else {
+                    chunk.forEach(sink);
+                }
+                if (chunk.size() < CHUNK_SIZE) {
+                    return collected;
+                }
+                from = chunk.getLast().getMemberId() + 1;
+            }
+        } finally {
+            em.close();
+        }
+    }
+
+    private BooleanExpression usernameEq(String username, NameMatch usernameMatch) {
+        return MemberNamePredicates.nameMatches(username, usernameMatch);
+    }
+
+    private BooleanExpression teamNameEq(String teamName) {
+        return teamName != null ? team.name.eq(teamName) : null;
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe != null ? member.age.goe(ageGoe) : null;
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    }
+}
@@ -1,11 +1,24 @@
 package com.example.querydsl.repository;
 
 import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.QMember;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
+import org.springframework.data.querydsl.binding.QuerydslBindings;
 
 import java.util.List;
 
-public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom, QuerydslPredicateExecutor<Member> {
+public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom,
+        QuerydslPredicateExecutor<Member>, QuerydslBinderCustomizer<QMember> {
     List<Member> findByName(String name);
+
+    /**
+     * @QuerydslPredicate 로 바인딩할 수 있는 쿼리 파라미터 (인덱스가 있는 경로만)
+     */
+    @Override
+    default void customize(QuerydslBindings bindings, QMember member) {
+        bindings.including(member.id, member.name, member.age, member.team.id, member.team.name);
+        bindings.excludeUnlistedProperties(true);
+    }
 }
@@ -2,8 +2,10 @@ package com.example.querydsl.repository;
 
 import com.example.querydsl.dto.MemberSearchCondition;
 import com.example.querydsl.dto.MemberTeamDto;
+import com.querydsl.core.types.Predicate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -11,4 +13,9 @@ public interface MemberRepositoryCustom {
     List<MemberTeamDto> searchByWhere(MemberSearchCondition condition);
     Page<MemberTeamDto> searchSimple(MemberSearchCondition condition, Pageable pageable);
     Page<MemberTeamDto> searchComplex(MemberSearchCondition condition, Pageable pageable);
+    Page<MemberTeamDto> searchDeferredJoin(MemberSearchCondition condition, Pageable pageable);
+    Page<MemberTeamDto> searchByPredicate(Predicate predicate, Pageable pageable);
+    Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, Pageable pageable);
+    long searchCount(MemberSearchCondition condition);
+    boolean isCountCheap(MemberSearchCondition condition);
 }
@@ -2,9 +2,10 @@ package com.example.querydsl.repository;
 
 import com.example.querydsl.dto.MemberSearchCondition;
 import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.dto.NameMatch;
 import com.example.querydsl.dto.QMemberTeamDto;
-import com.example.querydsl.entity.Member;
 import com.querydsl.core.QueryResults;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
@@ -12,9 +13,14 @@ import jakarta.persistence.EntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.support.PageableExecutionUtils;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import static com.example.querydsl.entity.QMember.member;
 import static com.example.querydsl.entity.QTeam.team;
@@ -24,15 +30,25 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final CountLatencyTracker countLatencyTracker;
+    private final MemberAgeHistogram memberAgeHistogram;
+    private final ResultGuard resultGuard;
 
-    public MemberRepositoryImpl(EntityManager em) {
+    public MemberRepositoryImpl(EntityManager em, CountLatencyTracker countLatencyTracker,
+                                MemberAgeHistogram memberAgeHistogram, ResultGuard resultGuard) {
         this.em = em;
         this.queryFactory = new JPAQueryFactory(em);
+        this.countLatencyTracker = countLatencyTracker;
+        this.memberAgeHistogram = memberAgeHistogram;
+        this.resultGuard = resultGuard;
     }
 
+    /**
+     * id 순으로 최대 member.result.max-rows 건 (넘으면 잘라서 반환)
+     */
     @Override
     public List<MemberTeamDto> searchByWhere(MemberSearchCondition condition) {
-        return queryFactory
+        List<MemberTeamDto> rows = queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.name,
@@ -42,12 +58,14 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
                 .from(member)
                 .leftJoin(member.team, team)
                 .where(
-                        usernameEq(condition.getUsername()),
+                        usernameEq(condition.getUsername(), condition.getUsernameMatch()),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe()))
+                .orderBy(member.id.asc())
+                .limit(resultGuard.probeLimit())
                 .fetch();
-
+        return resultGuard.cap(rows, "searchByWhere").content();
     }
 
     /**
@@ -55,6 +73,7 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
      */
     @Override
     public Page<MemberTeamDto> searchSimple(MemberSearchCondition condition, Pageable pageable) {
+        pageable = resultGuard.clamp(pageable, "searchSimple");
         QueryResults<MemberTeamDto> result = queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
@@ -65,10 +84,11 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
                 .from(member)
                 .leftJoin(member.team, team)
                 .where(
-                        usernameEq(condition.getUsername()),
+                        usernameEq(condition.getUsername(), condition.getUsernameMatch()),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe()))
+                .orderBy(MemberSorts.toOrderSpecifiers(pageable.getSort()))
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetchResults();
@@ -85,6 +105,7 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
      */
     @Override
     public Page<MemberTeamDto> searchComplex(MemberSearchCondition condition, Pageable pageable) {
+        pageable = resultGuard.clamp(pageable, "searchComplex");
         List<MemberTeamDto> content = queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
@@ -95,10 +116,11 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
                 .from(member)
                 .leftJoin(member.team, team)
                 .where(
-                        usernameEq(condition.getUsername()),
+                        usernameEq(condition.getUsername(), condition.getUsernameMatch()),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe()))
+                .orderBy(MemberSorts.toOrderSpecifiers(pageable.getSort()))
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch();
@@ -112,21 +134,154 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
 //                        ageLoe(condition.getAgeLoe()))
 //                .fetchCount();
 
-        JPAQuery<Member> countQuery = queryFactory
-                .selectFrom(member)
+        // 나이/팀 조건만 있으면 나이 분포로 count, 아니면 count 쿼리
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> memberAgeHistogram.count(condition).orElseGet(() -> searchCount(condition)));
+//        return new PageImpl<>(content, pageable, total);
+
+    }
+
+    /**
+     * 지연 조인 페이징
+     * 1. 필터, 정렬, offset, limit 를 member.id 만으로 처리 (팀 조건, 팀명 정렬이 없으면 조인도 하지 않음)
+     * 2. 구한 id 로 in 쿼리 + 팀 조인해서 DTO 조회, 1번의 순서 유지
+     */
+    @Override
+    public Page<MemberTeamDto> searchDeferredJoin(MemberSearchCondition condition, Pageable pageable) {
+        pageable = resultGuard.clamp(pageable, "searchDeferredJoin");
+        JPAQuery<Long> idQuery = queryFactory
+                .select(member.id)
+                .from(member);
+        if (condition.getTeamName() != null || MemberSorts.needsTeam(pageable.getSort())) {
+            idQuery.leftJoin(member.team, team);
+        }
+        List<Long> ids = idQuery
                 .where(
-                        usernameEq(condition.getUsername()),
+                        usernameEq(condition.getUsername(), condition.getUsernameMatch()),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe()));
+                        ageLoe(condition.getAgeLoe()))
+                .orderBy(MemberSorts.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
 
-        return PageableExecutionUtils.getPage(content, pageable, () -> countQuery.fetchCount());
-//        return new PageImpl<>(content, pageable, total);
+        List<MemberTeamDto> content = fetchInOrder(ids);
+        return PageableExecutionUtils.getPage(content, pageable, () -> searchCount(condition));
+    }
+
+    private List<MemberTeamDto> fetchInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, MemberTeamDto> byId = new HashMap<>();
+        queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.name,
+                        member.age,
+                        team.id,
+                        team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(member.id.in(ids))
+                .fetch()
+                .forEach(dto -> byId.put(dto.getMemberId(), dto));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
 
+    /**
+     * 외부에서 바인딩한 조건(@QuerydslPredicate)으로 페이징, 조건 검사는 호출하는 쪽에서
+     */
+    @Override
+    public Page<MemberTeamDto> searchByPredicate(Predicate predicate, Pageable pageable) {
+        pageable = resultGuard.clamp(pageable, "searchByPredicate");
+        List<MemberTeamDto> content = queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.name,
+                        member.age,
+                        team.id,
+                        team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(predicate)
+                .orderBy(MemberSorts.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        JPAQuery<Long> countQuery = queryFactory
+                .select(member.count())
+                .from(member)
+                .where(predicate);
+
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+    }
+
+    /**
+     * 무한 스크롤용 페이징
+     * size + 1 건을 조회해서 다음 페이지 존재 여부만 판단하고 count 쿼리는 실행하지 않는다.
+     */
+    @Override
+    public Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, Pageable pageable) {
+        pageable = resultGuard.clamp(pageable, "searchSlice");
+        List<MemberTeamDto> content = queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.name,
+                        member.age,
+                        team.id,
+                        team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameEq(condition.getUsername(), condition.getUsernameMatch()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()))
+                .orderBy(MemberSorts.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1)
+                .fetch();
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    /**
+     * 명시적으로 요청된 경우에만 사용하는 count, 실행 시간은 조건 형태별로 기록
+     */
+    @Override
+    public long searchCount(MemberSearchCondition condition) {
+        long start = System.nanoTime();
+        Long count = queryFactory
+                .select(member.count())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameEq(condition.getUsername(), condition.getUsernameMatch()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()))
+                .fetchOne();
+        countLatencyTracker.record(condition, System.nanoTime() - start);
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public boolean isCountCheap(MemberSearchCondition condition) {
+        return countLatencyTracker.isCheap(condition);
     }
 
-    private BooleanExpression usernameEq(String username) {
-        return username != null ? member.name.eq(username) : null;
+    private BooleanExpression usernameEq(String username, NameMatch usernameMatch) {
+        return MemberNamePredicates.nameMatches(username, usernameMatch);
     }
 
     private BooleanExpression teamNameEq(String teamName) {
@@ -0,0 +1,186 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.LimitedResult;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 검색 결과 2단 캐시
+ * - 행 수로 어림한 크기가 largeThreshold 이하인 결과는 힙(Caffeine, W-TinyLFU)에 객체 그대로, 넘으면 힙 밖(OffHeapResultStore)에 JSON 바이트로
+ * - 힙은 어림한 크기, 힙 밖은 실제 바이트 수를 무게로 삼아 상한을 넘으면 버린다. 직렬화는 힙 밖에 넣을 때만
+ * - 키는 정규화된 조건 + 페이지 + 정렬(MemberSearchKey)과 조회 직전의 테이블 세대(MemberTableVersion)
+ *   세대가 바뀌면 이전 항목은 모두 비운다. 조회하는 사이 세대가 바뀌었으면 결과를 돌려주기만 하고 넣지 않는다.
+ * - 캐시에 없으면 MemberSearchSingleFlight 로 조회하므로 같은 키의 동시 miss 도 쿼리 한 번
+ * - MemberTableVersion 을 올리지 않는 변경(JPQL 벌크 연산을 직접 실행 등)은 반영되지 않는다.
+ */
+@Component
+public class MemberSearchCache {
+
+    record CacheKey(long version, MemberSearchKey search) {
+    }
+
+    record CachedPage(List<MemberTeamDto> content, long total) {
+    }
+
+    private record HeapEntry(Object value, int weight) {
+    }
+
+    // MemberTeamDto 한 건(객체 + 이름 문자열 2개)과 결과 껍데기의 대략적인 크기
+    private static final int ROW_BYTES = 160;
+    private static final int BASE_BYTES = 64;
+
+    private final MemberSearchSingleFlight memberSearchSingleFlight;
+    private final MemberTableVersion memberTableVersion;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final long largeThreshold;
+
+    private final Cache<CacheKey, HeapEntry> heap;
+    private final OffHeapResultStore<CacheKey> offHeap;
+    private final AtomicLong seenVersion = new AtomicLong();
+    private final JavaType limitedListType;
+
+    public MemberSearchCache(MemberSearchSingleFlight memberSearchSingleFlight, MemberTableVersion memberTableVersion,
+                             ObjectMapper objectMapper, MeterRegistry registry,
+                             @Value("${member.search.cache.enabled:true}") boolean enabled,
+                             @Value("${member.search.cache.heap-max-size:32MB}") DataSize heapMaxSize,
+                             @Value("${member.search.cache.off-heap-max-size:64MB}") DataSize offHeapMaxSize,
+                             @Value("${member.search.cache.large-threshold:64KB}") DataSize largeThreshold) {
+        this.memberSearchSingleFlight = memberSearchSingleFlight;
+        this.memberTableVersion = memberTableVersion;
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.largeThreshold = largeThreshold.toBytes();
+        this.heap = Caffeine.newBuilder()
+                .maximumWeight(heapMaxSize.toBytes())
+                .weigher((CacheKey key, HeapEntry entry) -> entry.weight())
+                .evictionListener((key, entry, cause) -> registry.counter("member.search.cache.evictions",
+                        "tier", "heap").increment())
+                .build();
+        this.offHeap = new OffHeapResultStore<>(offHeapMaxSize.toBytes());
+        this.limitedListType = objectMapper.getTypeFactory()
+                .constructParametricType(LimitedResult.class, MemberTeamDto.class);
+
+        registry.gauge("member.search.cache.bytes", Tags.of("tier", "heap"),
+                heap, c -> c.policy().eviction().orElseThrow().weightedSize().orElse(0));
+        registry.gauge("member.search.cache.bytes", Tags.of("tier", "off-heap"),
+                offHeap, OffHeapResultStore::usedBytes);
+        registry.more().counter("member.search.cache.evictions", Tags.of("tier", "off-heap"),
+                offHeap, OffHeapResultStore::evictions);
+    }
+
+    public LimitedResult<MemberTeamDto> searchByWhere(MemberSearchCondition condition) {
+        if (!enabled) {
+            return memberSearchSingleFlight.searchByWhere(condition);
+        }
+        CacheKey key = key("searchByWhere", condition, Pageable.unpaged());
+        return lookup(key, limitedListType, () -> memberSearchSingleFlight.searchByWhere(condition));
+    }
+
+    public Page<MemberTeamDto> searchComplex(MemberSearchCondition condition, Pageable pageable) {
+        if (!enabled) {
+            return memberSearchSingleFlight.searchComplex(condition, pageable);
+        }
+        CacheKey key = key("searchComplex", condition, pageable);
+        CachedPage cached = lookup(key, objectMapper.constructType(CachedPage.class), () -> {
+            Page<MemberTeamDto> page = memberSearchSingleFlight.searchComplex(condition, pageable);
+            return new CachedPage(page.getContent(), page.getTotalElements());
+        });
+        return new PageImpl<>(cached.content(), pageable, cached.total());
+    }
+
+    private CacheKey key(String method, MemberSearchCondition condition, Pageable pageable) {
+        long version = memberTableVersion.current();
+        // 앞으로만 이동: 늦게 도착한 이전 세대 조회가 새 세대 항목을 비우지 않도록
+        long seen = seenVersion.get();
+        while (version > seen) {
+            if (seenVersion.compareAndSet(seen, version)) {
+                heap.invalidateAll();
+                offHeap.clear();
+                break;
+            }
+            seen = seenVersion.get();
+        }
+        return new CacheKey(version, MemberSearchKey.of(method, condition, pageable));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T lookup(CacheKey key, JavaType type, Supplier<T> loader) {
+        String method = key.search().method();
+        HeapEntry entry = heap.getIfPresent(key);
+        if (entry != null) {
+            hit("heap", method);
+            return (T) entry.value();
+        }
+        ByteBuffer stored = offHeap.get(key);
+        if (stored != null) {
+            hit("off-heap", method);
+            return read(stored, type);
+        }
+        registry.counter("member.search.cache", "result", "miss", "tier", "none", "method", method).increment();
+
+        T value = loader.get();
+        if (memberTableVersion.current() != key.version()) {
+            return value;
+        }
+        int weight = estimateWeight(value);
+        if (weight <= largeThreshold) {
+            heap.put(key, new HeapEntry(value, weight));
+        } else {
+            offHeap.put(key, write(value));
+        }
+        return value;
+    }
+
+    private static int estimateWeight(Object value) {
+        int rows = switch (value) {
+            case LimitedResult<?> result -> result.content().size();
+            case CachedPage page -> page.content().size();
+            default -> 1;
+        };
+        return BASE_BYTES + rows * ROW_BYTES;
+    }
+
+    private void hit(String tier, String method) {
+        registry.counter("member.search.cache", "result", "hit", "tier", tier, "method", method).increment();
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <T> T read(ByteBuffer buffer, JavaType type) {
+        try {
+            return objectMapper.readValue(new ByteBufferBackedInputStream(buffer), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
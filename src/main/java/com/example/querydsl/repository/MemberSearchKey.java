@@ -0,0 +1,36 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.NameMatch;
+import com.example.querydsl.entity.Member;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * 검색 요청 식별 키 (어떤 검색인지 + 조건 + 페이지 + 정렬)
+ * - MemberSearchCondition 은 변경 가능하므로 값을 복사해 둔다.
+ * - 결과가 같은 조건은 같은 키가 되도록 정규화: 대소문자 무시 검색(MemberNamePredicates)은 소문자로
+ * - 빈 문자열은 정규화하지 않는다. 검색 조건은 null 만 "조건 없음"으로 보고 빈 문자열은 eq('') 로 걸기 때문
+ * - 페이지 없는 검색은 page, size 가 -1
+ */
+public record MemberSearchKey(String method, String username, NameMatch usernameMatch, String teamName,
+                              Integer ageGoe, Integer ageLoe, long page, int size, Sort sort) {
+
+    public static MemberSearchKey of(String method, MemberSearchCondition condition, Pageable pageable) {
+        String username = condition.getUsername();
+        NameMatch match = username == null ? null
+                : condition.getUsernameMatch() != null ? condition.getUsernameMatch() : NameMatch.EXACT;
+        if (match == NameMatch.IGNORE_CASE || match == NameMatch.IGNORE_CASE_PREFIX || match == NameMatch.CONTAINS) {
+            username = Member.normalizeName(username);
+        }
+        return new MemberSearchKey(method,
+                username,
+                match,
+                condition.getTeamName(),
+                condition.getAgeGoe(),
+                condition.getAgeLoe(),
+                pageable.isPaged() ? pageable.getPageNumber() : -1,
+                pageable.isPaged() ? pageable.getPageSize() : -1,
+                pageable.getSort());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.LimitedResult;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 같은 검색이 동시에 들어오면 쿼리는 한 번만 실행하고 결과를 나눠준다 (single-flight)
+ * - 먼저 온 요청(leader)이 자기 스레드에서 실행하고, 실행 중에 온 같은 키 요청은 그 결과를 기다린다.
+ * - 완료되면 바로 키를 지우므로 결과를 보관하지 않는다. 나중 요청은 새로 조회한다.
+ * - 진행 중 키가 maxInFlight 개를 넘으면 합치지 않고 바로 실행 (메모리 상한)
+ * - 결과는 DTO 라 여러 응답이 같은 객체를 공유해도 된다. 호출자는 결과를 수정하지 않는다.
+ * - 메트릭 태그는 검색 종류와 조건 형태 (값 단위 태그는 개수가 무한하므로 쓰지 않는다)
+ * - 실제 조회(leader)만 QueryAdmission 을 거치므로 기다리는 요청은 실행 자리를 차지하지 않는다.
+ * - 키에 도착 시점의 테이블 세대(MemberTableVersion)를 넣어, 변경이 커밋된 뒤 온 요청은 그 전에 시작한 조회에 붙지 않는다.
+ */
+@Component
+public class MemberSearchSingleFlight {
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final MemberRepository memberRepository;
+    private final QueryAdmission queryAdmission;
+    private final MemberTableVersion memberTableVersion;
+    private final MeterRegistry registry;
+    private final int maxInFlight;
+
+    private final Map<FlightKey, Flight<?>> inFlight = new ConcurrentHashMap<>();
+
+    public MemberSearchSingleFlight(MemberJpaRepository memberJpaRepository, MemberRepository memberRepository,
+                                    QueryAdmission queryAdmission, MemberTableVersion memberTableVersion,
+                                    MeterRegistry registry,
+                                    @Value("${member.search.single-flight.max-in-flight:1024}") int maxInFlight) {
+        this.memberJpaRepository = memberJpaRepository;
+        this.memberRepository = memberRepository;
+        this.queryAdmission = queryAdmission;
+        this.memberTableVersion = memberTableVersion;
+        this.registry = registry;
+        this.maxInFlight = maxInFlight;
+        registry.gauge("member.search.inflight", inFlight, Map::size);
+    }
+
+    public LimitedResult<MemberTeamDto> searchByWhere(MemberSearchCondition condition) {
+        QueryCost cost = QueryCost.classify(condition, Pageable.unpaged(), false);
+        return execute(MemberSearchKey.of("searchByWhere", condition, Pageable.unpaged()), condition,
+                () -> queryAdmission.run(cost, () -> memberJpaRepository.searchByWhereLimited(condition)));
+    }
+
+    public Page<MemberTeamDto> searchComplex(MemberSearchCondition condition, Pageable pageable) {
+        QueryCost cost = QueryCost.classify(condition, pageable, true);
+        return execute(MemberSearchKey.of("searchComplex", condition, pageable), condition,
+                () -> queryAdmission.run(cost, () -> memberRepository.searchComplex(condition, pageable)));
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T execute(MemberSearchKey search, MemberSearchCondition condition, Supplier<T> query) {
+        String shape = CountLatencyTracker.shapeOf(condition);
+        if (inFlight.size() >= maxInFlight) {
+            counter("bypassed", search, shape).increment();
+            return query.get();
+        }
+
+        FlightKey key = new FlightKey(memberTableVersion.current(), search);
+        Flight<T> flight = new Flight<>();
+        Flight<T> existing = (Flight<T>) inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            existing.followers.incrementAndGet();
+            counter("coalesced", search, shape).increment();
+            try {
+                return existing.result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+
+        counter("executed", search, shape).increment();
+        try {
+            T result = query.get();
+            inFlight.remove(key, flight);
+            flight.result.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Error 도 키를 지우고 기다리는 요청을 깨워야 같은 키가 영원히 막히지 않는다.
+            inFlight.remove(key, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            DistributionSummary.builder("member.search.fanout")
+                    .tag("method", search.method())
+                    .register(registry)
+                    .record(flight.followers.get());
+        }
+    }
+
+    private Counter counter(String outcome, MemberSearchKey key, String shape) {
+        return Counter.builder("member.search.single-flight")
+                .tag("method", key.method())
+                .tag("shape", shape)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private record FlightKey(long version, MemberSearchKey search) {
+    }
+
+    private static class Flight<T> {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final AtomicInteger followers = new AtomicInteger();
+    }
+}
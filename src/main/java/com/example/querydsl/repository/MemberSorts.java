@@ -0,0 +1,62 @@
+package com.example.querydsl.repository;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+
+/**
+ * Pageable 정렬을 Querydsl OrderSpecifier 로 변환
+ * - 인덱스가 있는 속성만 허용 (Member: idx_member_name, idx_member_age / Team: idx_team_name)
+ * - 페이지 경계가 흔들리지 않도록 마지막에 항상 member.id 를 붙인다.
+ * - 컨트롤러는 캐시/대기열에 들어가기 전에 validate 로 먼저 거른다.
+ */
+public final class MemberSorts {
+
+    private static final Map<String, ComparableExpressionBase<?>> ALLOWED = Map.of(
+            "id", member.id,
+            "username", member.name,
+            "age", member.age,
+            "teamName", team.name);
+
+    private MemberSorts() {
+    }
+
+    public static void validate(Sort sort) {
+        for (Sort.Order order : sort) {
+            pathOf(order);
+        }
+    }
+
+    static OrderSpecifier<?>[] toOrderSpecifiers(Sort sort) {
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+        boolean hasId = false;
+        for (Sort.Order order : sort) {
+            ComparableExpressionBase<?> path = pathOf(order);
+            orders.add(order.isAscending() ? path.asc() : path.desc());
+            hasId |= path == member.id;
+        }
+        if (!hasId) {
+            orders.add(member.id.asc());
+        }
+        return orders.toArray(OrderSpecifier[]::new);
+    }
+
+    private static ComparableExpressionBase<?> pathOf(Sort.Order order) {
+        ComparableExpressionBase<?> path = ALLOWED.get(order.getProperty());
+        if (path == null) {
+            throw new UnsupportedSortException(order.getProperty(), ALLOWED.keySet());
+        }
+        return path;
+    }
+
+    static boolean needsTeam(Sort sort) {
+        return sort.getOrderFor("teamName") != null;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.entity.Member;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.JPQLTemplates;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+import static com.example.querydsl.entity.QMember.member;
+
+/**
+ * 배치용 대량 조회. StatelessSession 으로 실행해서
+ * 1차 캐시, 스냅샷(변경 감지), 지연 로딩 없이 Member 를 한 건씩 흘려보낸다.
+ * - Querydsl 조건을 JPQL 로 직렬화해서 StatelessSession 에서 실행
+ * - 반환된 엔티티의 team 은 초기화할 수 없다. id 만 사용할 것
+ * - Stream 을 close 하면 세션과 트랜잭션이 정리된다.
+ */
+@Repository
+public class MemberStatelessScanner {
+
+    static final int FETCH_SIZE = 1000;
+
+    private final SessionFactory sessionFactory;
+
+    public MemberStatelessScanner(EntityManagerFactory emf) {
+        this.sessionFactory = emf.unwrap(SessionFactory.class);
+    }
+
+    public Stream<Member> scan(Predicate... where) {
+        JPAQuery<Member> query = new JPAQuery<Member>()
+                .select(member)
+                .from(member)
+                .where(where)
+                .orderBy(member.id.asc());
+        JPQLSerializer serializer = new JPQLSerializer(JPQLTemplates.DEFAULT);
+        serializer.serialize(query.getMetadata(), false, null);
+
+        StatelessSession session = sessionFactory.openStatelessSession();
+        Transaction tx = session.beginTransaction();
+        try {
+            Query<Member> hibernateQuery = session.createQuery(serializer.toString(), Member.class);
+            JPAUtil.setConstants(hibernateQuery, serializer.getConstants(), query.getMetadata().getParams());
+            hibernateQuery.setReadOnly(true);
+            hibernateQuery.setFetchSize(FETCH_SIZE);
+            return hibernateQuery.getResultStream()
+                    .onClose(() -> close(session, tx));
+        } catch (RuntimeException e) {
+            close(session, tx);
+            throw e;
+        }
+    }
+
+    private void close(StatelessSession session, Transaction tx) {
+        try {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+        } finally {
+            session.close();
+        }
+    }
+}
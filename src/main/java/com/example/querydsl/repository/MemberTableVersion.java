@@ -0,0 +1,24 @@
+package com.example.querydsl.repository;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * member, team 테이블 변경 세대. 변경이 커밋될 때마다 증가한다.
+ * - ChangeCapture 로 기록되는 변경(엔티티 변경, 리포지토리 벌크 연산)과 데이터 생성기가 올린다.
+ * - 검색 결과 캐시는 조회 전에 읽은 값을 키에 넣어, 이후 커밋된 변경이 있으면 다시 조회한다.
+ */
+@Component
+public class MemberTableVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public void increment() {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.cdc.ChangeCapture;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.search.MemberSearchIndex;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.example.querydsl.entity.QMember.member;
+
+/**
+ * 팀 간 회원 일괄 이동
+ * - update 한 번으로 처리하고 Team.members 컬렉션은 초기화하지 않는다.
+ * - 영속성 컨텍스트에 있던 관련 Member, Team 은 준영속으로 만들어 이후 조회 시 DB 값을 읽게 한다.
+ * - 나이 분포, 검색 색인은 커밋 후 갱신
+ */
+@Repository
+public class MemberTeamMover {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final MemberAgeHistogram memberAgeHistogram;
+    private final MemberSearchIndex memberSearchIndex;
+    private final ChangeCapture changeCapture;
+
+    public MemberTeamMover(EntityManager em, MemberAgeHistogram memberAgeHistogram,
+                           MemberSearchIndex memberSearchIndex, ChangeCapture changeCapture) {
+        this.em = em;
+        this.queryFactory = new JPAQueryFactory(em);
+        this.memberAgeHistogram = memberAgeHistogram;
+        this.memberSearchIndex = memberSearchIndex;
+        this.changeCapture = changeCapture;
+    }
+
+    /**
+     * @param filter 추가 조건 (예: member.age.goe(30)), null 이면 팀 전체
+     * @return 이동한 회원 수
+     */
+    @Transactional
+    public long moveMembers(Long fromTeamId, Long toTeamId, Predicate filter) {
+        em.flush();
+        // 변경 이벤트와 색인 갱신용 대상 id. 사이에 다른 트랜잭션이 이 팀에 넣은 회원은 빠질 수 있다.
+        List<Long> ids = queryFactory
+                .select(member.id)
+                .from(member)
+                .where(member.team.id.eq(fromTeamId), filter)
+                .fetch();
+        long moved = queryFactory
+                .update(member)
+                .set(member.team, em.getReference(Team.class, toTeamId))
+                .set(member.version, member.version.add(1))
+                .where(member.team.id.eq(fromTeamId), filter)
+                .execute();
+        if (moved > 0) {
+            changeCapture.recordBulk(em, "Member", "BULK_UPDATE", ids,
+                    "team " + fromTeamId + " -> " + toTeamId);
+        }
+
+        detachAffected(fromTeamId, toTeamId);
+        em.getEntityManagerFactory().getCache().evict(Member.class);
+
+        memberAgeHistogram.invalidateAfterCommit();
+        afterCommit(() -> {
+            if (filter == null) {
+                memberSearchIndex.moveTeamMembers(fromTeamId, toTeamId);
+            } else {
+                memberSearchIndex.moveMembers(ids, toTeamId);
+            }
+        });
+        return moved;
+    }
+
+    private void detachAffected(Long fromTeamId, Long toTeamId) {
+        List<Object> affected = new ArrayList<>();
+        for (Map.Entry<Object, ?> entry : em.unwrap(SessionImplementor.class)
+                .getPersistenceContextInternal()
+                .reentrantSafeEntityEntries()) {
+            Object entity = entry.getKey();
+            if (entity instanceof Member m && m.getTeam() != null
+                    && Objects.equals(m.getTeam().getId(), fromTeamId)) {
+                affected.add(m);
+            } else if (entity instanceof Team t
+                    && (Objects.equals(t.getId(), fromTeamId) || Objects.equals(t.getId(), toTeamId))) {
+                affected.add(t);
+            }
+        }
+        Session session = em.unwrap(Session.class);
+        affected.forEach(session::detach);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
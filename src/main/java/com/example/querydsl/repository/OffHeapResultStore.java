@@ -0,0 +1,69 @@
+package com.example.querydsl.repository;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 직렬화된 결과를 direct ByteBuffer 에 보관하는 LRU 저장소 (힙 밖)
+ * - 전체 바이트가 maxBytes 를 넘으면 가장 오래 안 쓴 항목부터 버린다.
+ * - 큰 결과를 힙에 오래 두면 old 영역이 커져 GC 멈춤이 길어지므로 분리한다.
+ * - direct 메모리는 버퍼가 GC 될 때 반환되므로 -XX:MaxDirectMemorySize 가 maxBytes 보다 넉넉해야 한다.
+ */
+public class OffHeapResultStore<K> {
+
+    private final long maxBytes;
+    private final LinkedHashMap<K, ByteBuffer> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    private long evictions;
+
+    public OffHeapResultStore(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return 읽기 전용 버퍼, 없으면 null
+     */
+    public synchronized ByteBuffer get(K key) {
+        ByteBuffer buffer = entries.get(key);
+        return buffer == null ? null : buffer.asReadOnlyBuffer();
+    }
+
+    public synchronized void put(K key, byte[] bytes) {
+        if (bytes.length > maxBytes) {
+            return;
+        }
+        ByteBuffer previous = entries.remove(key);
+        if (previous != null) {
+            usedBytes -= previous.capacity();
+        }
+        Iterator<Map.Entry<K, ByteBuffer>> eldest = entries.entrySet().iterator();
+        while (usedBytes + bytes.length > maxBytes && eldest.hasNext()) {
+            usedBytes -= eldest.next().getValue().capacity();
+            eldest.remove();
+            evictions++;
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        entries.put(key, buffer);
+        usedBytes += bytes.length;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.querydsl.repository;
+
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 외부에서 받은 Querydsl 조건의 비용 검사
+ * - 인덱스가 없는 경로 조건, 너무 많은 OR, 너무 긴 in 목록은 거부
+ * - 조건이 없으면(전체 스캔) 거부
+ */
+@Component
+public class PredicateCostEstimator {
+
+    // 인덱스가 있는 경로 (MemberSorts 와 같은 인덱스 + FK)
+    static final Set<String> INDEXED_PATHS = Set.of(
+            "member.id", "member.name", "member.nameLower", "member.age", "member.team.id", "member.team.name");
+
+    private final int maxOrBranches;
+    private final int maxInListSize;
+
+    public PredicateCostEstimator(@Value("${member.predicate.max-or-branches:4}") int maxOrBranches,
+                                  @Value("${member.predicate.max-in-list-size:100}") int maxInListSize) {
+        this.maxOrBranches = maxOrBranches;
+        this.maxInListSize = maxInListSize;
+    }
+
+    public void check(Predicate predicate) {
+        if (predicate == null) {
+            throw new PredicateRejectedException("at least one filter is required");
+        }
+        int orBranches = visit(predicate);
+        if (orBranches > maxOrBranches) {
+            throw new PredicateRejectedException("too many OR branches: " + orBranches + " > " + maxOrBranches);
+        }
+    }
+
+    private int visit(Expression<?> expression) {
+        if (expression instanceof Path<?> path) {
+            if (!INDEXED_PATHS.contains(path.toString())) {
+                throw new PredicateRejectedException("filter on unindexed path: " + path);
+            }
+            return 0;
+        }
+        if (expression instanceof Constant<?> constant) {
+            if (constant.getConstant() instanceof Collection<?> values && values.size() > maxInListSize) {
+                throw new PredicateRejectedException("in list too long: " + values.size() + " > " + maxInListSize);
+            }
+            return 0;
+        }
+        if (expression instanceof Operation<?> operation) {
+            int orBranches = operation.getOperator() == Ops.OR ? 1 : 0;
+            for (Expression<?> arg : operation.getArgs()) {
+                orBranches += visit(arg);
+            }
+            return orBranches;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.querydsl.repository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class PredicateRejectedException extends IllegalArgumentException {
+
+    public PredicateRejectedException(String message) {
+        super(message);
+    }
+}
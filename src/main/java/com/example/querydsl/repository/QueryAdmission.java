@@ -0,0 +1,156 @@
+package com.example.querydsl.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비용 등급(QueryCost)별로 동시 실행 수와 대기열을 따로 두는 쿼리 입장 제어
+ * - 등급마다 동시 실행 상한(concurrency), 대기열 길이(queue), 최대 대기(max-wait)
+ * - 비싼 쿼리는 상한을 작게 두어 커넥션 풀을 다 쓰지 못하게 하고, 싼 쿼리 몫을 남겨둔다.
+ * - 실행 자리가 없으면 대기열에서 기다리고(지연), 대기열이 차거나 max-wait 이 지나면 503 (버림)
+ * - 설정: member.query.admission.{cheap|normal|expensive}.{concurrency|queue|max-wait}
+ * - 동시 실행 기본값은 커넥션 풀 크기에서 나눈다: expensive 1/5, normal 2/5, 나머지는 cheap 몫
+ *   합이 풀보다 크면 입장한 쿼리가 커넥션을 기다리게 되므로 경고
+ * - 허가는 조회 본문이 끝나면 돌려주므로 open-in-view 는 꺼 둔다 (켜져 있으면 커넥션은 응답이 끝날 때까지 잡혀 있다).
+ */
+@Slf4j
+@Component
+public class QueryAdmission {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    /**
+     * 조회 본문. 스트리밍 응답처럼 검사 예외를 던지는 작업도 받는다.
+     */
+    @FunctionalInterface
+    public interface Query<T, E extends Exception> {
+        T execute() throws E;
+    }
+
+    private final Map<QueryCost, Lane> lanes = new EnumMap<>(QueryCost.class);
+
+    public QueryAdmission(Environment env, MeterRegistry registry) {
+        int pool = env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, DEFAULT_POOL_SIZE);
+        int expensive = Math.max(1, pool / 5);
+        int normal = Math.max(1, pool * 2 / 5);
+        int cheap = Math.max(1, pool - normal - expensive);
+        lanes.put(QueryCost.CHEAP, lane(env, registry, QueryCost.CHEAP, cheap, 256, Duration.ofSeconds(1)));
+        lanes.put(QueryCost.NORMAL, lane(env, registry, QueryCost.NORMAL, normal, 64, Duration.ofSeconds(2)));
+        lanes.put(QueryCost.EXPENSIVE, lane(env, registry, QueryCost.EXPENSIVE, expensive, 8, Duration.ofSeconds(5)));
+
+        int total = lanes.values().stream().mapToInt(lane -> lane.concurrency).sum();
+        if (total > pool) {
+            log.warn("query admission concurrency {} exceeds connection pool size {}", total, pool);
+        }
+    }
+
+    public <T, E extends Exception> T run(QueryCost cost, Query<T, E> query) throws E {
+        Lane lane = lanes.get(cost);
+        lane.acquire();
+        try {
+            return query.execute();
+        } finally {
+            lane.release();
+        }
+    }
+
+    int active(QueryCost cost) {
+        return lanes.get(cost).active.get();
+    }
+
+    int queued(QueryCost cost) {
+        return lanes.get(cost).queued.get();
+    }
+
+    int concurrency(QueryCost cost) {
+        return lanes.get(cost).concurrency;
+    }
+
+    private static Lane lane(Environment env, MeterRegistry registry, QueryCost cost,
+                             int concurrency, int queue, Duration maxWait) {
+        String prefix = "member.query.admission." + cost.name().toLowerCase() + ".";
+        return new Lane(cost,
+                env.getProperty(prefix + "concurrency", Integer.class, concurrency),
+                env.getProperty(prefix + "queue", Integer.class, queue),
+                env.getProperty(prefix + "max-wait", Duration.class, maxWait),
+                registry);
+    }
+
+    private static class Lane {
+
+        final QueryCost cost;
+        final int concurrency;
+        final Semaphore permits;
+        final int maxQueued;
+        final Duration maxWait;
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger queued = new AtomicInteger();
+        final MeterRegistry registry;
+        final Timer waitTimer;
+
+        Lane(QueryCost cost, int concurrency, int maxQueued, Duration maxWait, MeterRegistry registry) {
+            this.cost = cost;
+            this.concurrency = concurrency;
+            // 공정 모드: 먼저 기다린 요청부터 들어간다.
+            this.permits = new Semaphore(concurrency, true);
+            this.maxQueued = maxQueued;
+            this.maxWait = maxWait;
+            this.registry = registry;
+            Tags tags = Tags.of("cost", cost.name());
+            registry.gauge("member.query.admission.active", tags, active);
+            registry.gauge("member.query.admission.queued", tags, queued);
+            this.waitTimer = Timer.builder("member.query.admission.wait")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        void acquire() {
+            long start = System.nanoTime();
+            try {
+                // tryAcquire() 는 공정 모드를 무시하고 끼어들므로 timeout 0 으로 시도
+                if (!permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                    if (queued.incrementAndGet() > maxQueued) {
+                        queued.decrementAndGet();
+                        reject("queue full");
+                    }
+                    boolean acquired;
+                    try {
+                        acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+                    } finally {
+                        queued.decrementAndGet();
+                    }
+                    if (!acquired) {
+                        reject("wait timeout");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reject("interrupted");
+            }
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            active.incrementAndGet();
+        }
+
+        void release() {
+            active.decrementAndGet();
+            permits.release();
+        }
+
+        private void reject(String reason) {
+            registry.counter("member.query.admission.rejected", "cost", cost.name(), "reason", reason).increment();
+            throw new QueryRejectedException(cost + " query rejected: " + reason);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.NameMatch;
+import org.springframework.data.domain.Pageable;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * 검색 비용 등급 (QueryAdmission 의 대기열 선택용)
+ * - 선택도 높은 조건: 인덱스를 타는 회원명 검색(CONTAINS 제외) 또는 팀명
+ * - 페이지 없는 목록이나 큰 페이지는 선택도 높은 조건이 없으면 테이블 전체를 읽는다.
+ * - count 는 조건이 선택적이지 않으면 페이지 크기와 상관없이 전체를 센다.
+ */
+public enum QueryCost {
+    CHEAP, NORMAL, EXPENSIVE;
+
+    static final int LARGE_PAGE_SIZE = 100;
+
+    public static QueryCost classify(MemberSearchCondition condition, Pageable pageable, boolean countRequired) {
+        boolean selective = hasText(condition.getTeamName())
+                || (hasText(condition.getUsername()) && condition.getUsernameMatch() != NameMatch.CONTAINS);
+        boolean smallPage = pageable.isPaged() && pageable.getPageSize() <= LARGE_PAGE_SIZE;
+        if (!smallPage) {
+            return selective ? NORMAL : EXPENSIVE;
+        }
+        if (!selective) {
+            return countRequired ? EXPENSIVE : NORMAL;
+        }
+        return countRequired ? NORMAL : CHEAP;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.LimitedResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 한 번의 조회가 가져오는 행 수 상한
+ * - 페이지 없는 목록: maxRows + 1 개까지만 조회(limit)해서 넘치면 maxRows 개로 자르고 잘렸다고 표시
+ * - 페이지 조회: 페이지 크기를 maxPageSize 로 줄인다. 웹 요청은 spring.data.web.pageable.max-page-size 로 먼저 걸러진다.
+ * - 잘리거나 줄어든 요청은 member.result.truncated 로 센다.
+ */
+@Component
+public class ResultGuard {
+
+    private final int maxRows;
+    private final int maxPageSize;
+    private final MeterRegistry registry;
+
+    public ResultGuard(MeterRegistry registry,
+                       @Value("${member.result.max-rows:10000}") int maxRows,
+                       @Value("${member.result.max-page-size:500}") int maxPageSize) {
+        this.registry = registry;
+        this.maxRows = maxRows;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Querydsl limit 에 넣을 값. 상한보다 하나 더 읽어 잘렸는지 안다.
+     */
+    public long probeLimit() {
+        return maxRows + 1L;
+    }
+
+    public <T> LimitedResult<T> cap(List<T> rows, String method) {
+        if (rows.size() <= maxRows) {
+            return new LimitedResult<>(rows, false, maxRows);
+        }
+        truncated(method);
+        return new LimitedResult<>(rows.subList(0, maxRows), true, maxRows);
+    }
+
+    public Pageable clamp(Pageable pageable, String method) {
+        if (pageable.isUnpaged() || pageable.getPageSize() <= maxPageSize) {
+            return pageable;
+        }
+        truncated(method);
+        return PageRequest.of(pageable.getPageNumber(), maxPageSize, pageable.getSort());
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    private void truncated(String method) {
+        registry.counter("member.result.truncated", "method", method).increment();
+    }
+}
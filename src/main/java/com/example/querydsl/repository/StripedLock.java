@@ -0,0 +1,35 @@
+package com.example.querydsl.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 특정 회원(hot row)에 대한 갱신을 프로세스 안에서 직렬화하는 락
+ * - 키 해시로 고정 개수의 락 중 하나를 고르므로 메모리는 일정하고, 다른 키끼리는 대부분 경합하지 않는다.
+ * - 트랜잭션 바깥에서 잡아야 커밋까지 보호된다.
+ */
+@Component
+public class StripedLock {
+
+    private final ReentrantLock[] stripes;
+
+    public StripedLock(@Value("${member.lock.stripes:64}") int stripes) {
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock(Object key, Supplier<T> action) {
+        ReentrantLock lock = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
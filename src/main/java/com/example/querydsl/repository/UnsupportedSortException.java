@@ -0,0 +1,18 @@
+package com.example.querydsl.repository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.Collection;
+
+/**
+ * IllegalArgumentException 이면 리포지토리 프록시가 InvalidDataAccessApiUsageException(500)으로 바꾸므로
+ * RuntimeException 을 상속한다.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnsupportedSortException extends RuntimeException {
+
+    public UnsupportedSortException(String property, Collection<String> allowed) {
+        super("sort by '" + property + "' is not supported, allowed: " + allowed);
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.querydsl.search;
+
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.repository.MemberJpaRepository;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+
+/**
+ * 역색인으로 회원 id 를 찾고, Querydsl in 쿼리 한 번으로 MemberTeamDto 를 조회
+ * - 시작할 때의 전체 색인은 백그라운드에서 만든다. 끝나기 전까지 검색 결과는 비어 있다.
+ */
+@Slf4j
+@Component
+public class MemberFullTextSearch {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private final MemberSearchIndex index;
+    private final MemberJpaRepository memberJpaRepository;
+    private final EntityManagerFactory emf;
+    private final JPAQueryFactory queryFactory;
+    private final Timer searchTimer;
+    private final Timer hydrateTimer;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicBoolean requested = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("member-search-rebuild").daemon().factory());
+
+    public MemberFullTextSearch(MemberSearchIndex index, MemberJpaRepository memberJpaRepository,
+                                EntityManager em, EntityManagerFactory emf, MeterRegistry registry) {
+        this.index = index;
+        this.memberJpaRepository = memberJpaRepository;
+        this.emf = emf;
+        this.queryFactory = new JPAQueryFactory(em);
+        this.searchTimer = Timer.builder("member.search.index").register(registry);
+        this.hydrateTimer = Timer.builder("member.search.hydrate").register(registry);
+        registry.gauge("member.search.index.size", index, MemberSearchIndex::size);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MemberTeamDto> search(String query, int limit) {
+        List<Long> ids = searchTimer.record(() -> index.search(query, limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return hydrateTimer.record(() -> {
+            Map<Long, Integer> rank = new HashMap<>();
+            for (int i = 0; i < ids.size(); i++) {
+                rank.put(ids.get(i), i);
+            }
+            // 색인에만 남아 있는(롤백 등) id 는 조회되지 않으므로 자연스럽게 빠진다.
+            return memberJpaRepository.findByIds(ids).stream()
+                    .sorted(Comparator.comparing(dto -> rank.get(dto.getMemberId())))
+                    .toList();
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuildAsync();
+    }
+
+    /**
+     * 백그라운드에서 다시 만든다. 진행 중에 또 요청되면 끝난 뒤 한 번 더 (요청끼리는 합친다)
+     * - 트랜잭션 안에서 호출하면 커밋된 뒤에 시작 (별도 커넥션이라 커밋 전 데이터는 보이지 않는다)
+     */
+    public void rebuildAsync() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submitRebuild();
+                }
+            });
+            return;
+        }
+        submitRebuild();
+    }
+
+    private void submitRebuild() {
+        requested.set(true);
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuilder.execute(() -> {
+                try {
+                    while (requested.getAndSet(false)) {
+                        int members = rebuild();
+                        log.info("member search index rebuilt: {} members", members);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("member search index rebuild failed", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+                // 루프를 빠져나온 직후 들어온 요청
+                if (requested.get()) {
+                    submitRebuild();
+                }
+            });
+        } catch (RuntimeException e) {
+            rebuilding.set(false);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * 커밋된 데이터를 별도 EntityManager 로 읽어 새 색인을 만든 뒤 바꿔 끼운다. 만드는 동안에도 검색은 기존 색인으로 동작
+     * - 회원은 member.id 키셋 페이징으로 CHUNK_SIZE 씩 읽어 전체를 한 번에 메모리에 올리지 않는다.
+     */
+    public synchronized int rebuild() {
+        MemberSearchIndex.Rebuild rebuild = index.startRebuild();
+        EntityManager em = emf.createEntityManager();
+        try {
+            JPAQueryFactory rebuildQueryFactory = new JPAQueryFactory(em);
+            rebuildQueryFactory
+                    .select(team.id, team.name)
+                    .from(team)
+                    .fetch()
+                    .forEach(row -> rebuild.putTeam(row.get(team.id), row.get(team.name)));
+            int count = 0;
+            Long lastId = null;
+            while (true) {
+                List<Tuple> chunk = rebuildQueryFactory
+                        .select(member.id, member.name, member.team.id)
+                        .from(member)
+                        .where(lastId != null ? member.id.gt(lastId) : null)
+                        .orderBy(member.id.asc())
+                        .limit(CHUNK_SIZE)
+                        .fetch();
+                chunk.forEach(row -> rebuild.putMember(row.get(member.id), row.get(member.name), row.get(member.team.id)));
+                count += chunk.size();
+                if (chunk.size() < CHUNK_SIZE) {
+                    break;
+                }
+                lastId = chunk.getLast().get(member.id);
+            }
+            index.swap(rebuild);
+            return count;
+        } catch (RuntimeException e) {
+            index.abandon(rebuild);
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * 벌크 연산 후 영향받은 회원만 다시 색인
+     */
+    @Transactional(readOnly = true)
+    public void reindex(Collection<Long> memberIds) {
+        if (memberIds.isEmpty()) {
+            return;
+        }
+        List<Tuple> rows = queryFactory
+                .select(member.id, member.name, member.team.id)
+                .from(member)
+                .where(member.id.in(memberIds))
+                .fetch();
+        Set<Long> found = new HashSet<>();
+        for (Tuple row : rows) {
+            found.add(row.get(member.id));
+            index.putMember(row.get(member.id), row.get(member.name), row.get(member.team.id));
+        }
+        memberIds.stream()
+                .filter(id -> !found.contains(id))
+                .forEach(index::removeMember);
+    }
+
+    /**
+     * 팀 이름 벌크 변경 후 호출. teamIds 가 null 이면 전체 팀
+     */
+    @Transactional(readOnly = true)
+    public void reindexTeams(Collection<Long> teamIds) {
+        queryFactory
+                .select(team.id, team.name)
+                .from(team)
+                .where(teamIds != null ? team.id.in(teamIds) : null)
+                .fetch()
+                .forEach(row -> index.putTeam(row.get(team.id), row.get(team.name)));
+    }
+}
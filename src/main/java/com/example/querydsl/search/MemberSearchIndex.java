@@ -0,0 +1,295 @@
+package com.example.querydsl.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 회원명, 팀명 역색인 (메모리)
+ * - 회원명 토큰 -> 회원 id, 팀명 토큰 -> 팀 id, 팀 id -> 회원 id
+ * - 팀명은 팀 단위로만 저장하므로 팀 이름이 바뀌어도 회원을 다시 색인할 필요가 없다.
+ * - 점수: 질의 토큰마다 idf * (회원명 일치 2점 + 팀명 일치 1점)
+ * - 전체 재색인은 새 색인(Rebuild)을 따로 만든 뒤 한 번에 바꿔 끼운다. 만드는 동안 들어온 변경은 기록해 두었다가
+ *   바꿔 끼우기 직전에 새 색인에 다시 적용한다.
+ */
+@Component
+public class MemberSearchIndex {
+
+    private static final double NAME_WEIGHT = 2.0;
+    private static final double TEAM_WEIGHT = 1.0;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Postings current = new Postings();
+    // 재색인 중에 들어온 변경, 재색인 중이 아니면 null
+    private List<Consumer<Postings>> journal;
+
+    public void putMember(Long memberId, String name, Long teamId) {
+        mutate(p -> p.putMember(memberId, name, teamId));
+    }
+
+    public void removeMember(Long memberId) {
+        mutate(p -> p.removeMember(memberId));
+    }
+
+    /**
+     * 팀 전체 이동 (벌크 update 후)
+     */
+    public void moveTeamMembers(Long fromTeamId, Long toTeamId) {
+        mutate(p -> p.moveTeamMembers(fromTeamId, toTeamId));
+    }
+
+    /**
+     * 조건부 이동 (벌크 update 후). 이동 전에 고른 회원 id 만 옮긴다.
+     */
+    public void moveMembers(Collection<Long> memberIds, Long toTeamId) {
+        List<Long> ids = List.copyOf(memberIds);
+        mutate(p -> p.moveMembers(ids, toTeamId));
+    }
+
+    public void putTeam(Long teamId, String name) {
+        mutate(p -> p.putTeam(teamId, name));
+    }
+
+    public void removeTeam(Long teamId) {
+        mutate(p -> p.removeTeam(teamId));
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            current = new Postings();
+            if (journal != null) {
+                journal.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 빈 새 색인을 만들고 이후 변경을 기록하기 시작한다. 채운 뒤 {@link #swap(Rebuild)}
+     * - 동시에 하나만 진행한다고 가정 (MemberFullTextSearch.rebuild 가 직렬화)
+     */
+    public Rebuild startRebuild() {
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+            return new Rebuild();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void swap(Rebuild rebuild) {
+        lock.writeLock().lock();
+        try {
+            journal.forEach(change -> change.accept(rebuild.postings));
+            journal = null;
+            current = rebuild.postings;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 재색인 실패 시 기록만 멈춘다. 기존 색인은 그대로
+     */
+    public void abandon(Rebuild rebuild) {
+        lock.writeLock().lock();
+        try {
+            journal = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 점수 내림차순(같으면 id 오름차순) 회원 id
+     */
+    public List<Long> search(String query, int limit) {
+        Set<String> tokens = tokenize(query);
+        Map<Long, Double> scores;
+        lock.readLock().lock();
+        try {
+            scores = current.score(tokens);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        return ranked.stream()
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return current.memberTokens.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new HashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .forEach(tokens::add);
+        return tokens;
+    }
+
+    private void mutate(Consumer<Postings> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(current);
+            if (journal != null) {
+                journal.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 채우는 중인 새 색인. 공개되기 전이라 잠금 없이 한 스레드에서 채운다.
+     */
+    public static class Rebuild {
+
+        private final Postings postings = new Postings();
+
+        public void putMember(Long memberId, String name, Long teamId) {
+            postings.putMember(memberId, name, teamId);
+        }
+
+        public void putTeam(Long teamId, String name) {
+            postings.putTeam(teamId, name);
+        }
+    }
+
+    private static class Postings {
+
+        final Map<String, Set<Long>> nameTokens = new HashMap<>();
+        final Map<Long, Set<String>> memberTokens = new HashMap<>();
+        final Map<Long, Long> memberTeam = new HashMap<>();
+
+        final Map<String, Set<Long>> teamNameTokens = new HashMap<>();
+        final Map<Long, Set<String>> teamTokens = new HashMap<>();
+        final Map<Long, Set<Long>> teamMembers = new HashMap<>();
+
+        void putMember(Long memberId, String name, Long teamId) {
+            removeMember(memberId);
+            Set<String> tokens = tokenize(name);
+            memberTokens.put(memberId, tokens);
+            for (String token : tokens) {
+                nameTokens.computeIfAbsent(token, k -> new HashSet<>()).add(memberId);
+            }
+            if (teamId != null) {
+                memberTeam.put(memberId, teamId);
+                teamMembers.computeIfAbsent(teamId, k -> new HashSet<>()).add(memberId);
+            }
+        }
+
+        void removeMember(Long memberId) {
+            Set<String> tokens = memberTokens.remove(memberId);
+            if (tokens != null) {
+                for (String token : tokens) {
+                    removeFrom(nameTokens, token, memberId);
+                }
+            }
+            Long teamId = memberTeam.remove(memberId);
+            if (teamId != null) {
+                removeFrom(teamMembers, teamId, memberId);
+            }
+        }
+
+        void moveTeamMembers(Long fromTeamId, Long toTeamId) {
+            Set<Long> moved = teamMembers.remove(fromTeamId);
+            if (moved == null) {
+                return;
+            }
+            moved.forEach(memberId -> memberTeam.put(memberId, toTeamId));
+            teamMembers.computeIfAbsent(toTeamId, k -> new HashSet<>()).addAll(moved);
+        }
+
+        void moveMembers(List<Long> memberIds, Long toTeamId) {
+            for (Long memberId : memberIds) {
+                if (!memberTokens.containsKey(memberId)) {
+                    continue;
+                }
+                Long fromTeamId = memberTeam.put(memberId, toTeamId);
+                if (fromTeamId != null) {
+                    removeFrom(teamMembers, fromTeamId, memberId);
+                }
+                teamMembers.computeIfAbsent(toTeamId, k -> new HashSet<>()).add(memberId);
+            }
+        }
+
+        void putTeam(Long teamId, String name) {
+            removeTeam(teamId);
+            Set<String> tokens = tokenize(name);
+            teamTokens.put(teamId, tokens);
+            for (String token : tokens) {
+                teamNameTokens.computeIfAbsent(token, k -> new HashSet<>()).add(teamId);
+            }
+        }
+
+        void removeTeam(Long teamId) {
+            Set<String> tokens = teamTokens.remove(teamId);
+            if (tokens != null) {
+                for (String token : tokens) {
+                    removeFrom(teamNameTokens, token, teamId);
+                }
+            }
+        }
+
+        Map<Long, Double> score(Set<String> tokens) {
+            Map<Long, Double> scores = new HashMap<>();
+            int documents = Math.max(memberTokens.size(), 1);
+            for (String token : tokens) {
+                Set<Long> byName = nameTokens.getOrDefault(token, Set.of());
+                Set<Long> byTeam = new HashSet<>();
+                for (Long teamId : teamNameTokens.getOrDefault(token, Set.of())) {
+                    byTeam.addAll(teamMembers.getOrDefault(teamId, Set.of()));
+                }
+                int df = byName.size() + byTeam.size();
+                if (df == 0) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + (double) documents / df);
+                byName.forEach(id -> scores.merge(id, idf * NAME_WEIGHT, Double::sum));
+                byTeam.forEach(id -> scores.merge(id, idf * TEAM_WEIGHT, Double::sum));
+            }
+            return scores;
+        }
+
+        private static <K> void removeFrom(Map<K, Set<Long>> index, K key, Long id) {
+            Set<Long> ids = index.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.querydsl.search;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Member, Team 변경을 역색인에 반영하는 JPA 엔티티 리스너
+ * - flush 시점의 값을 잡아 두었다가 커밋된 뒤에 반영한다. 롤백되면 색인은 그대로
+ * - Querydsl 벌크 연산은 리스너를 거치지 않으므로 {@link MemberFullTextSearch#reindex} 를 호출해야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexListener {
+
+    private final MemberSearchIndex index;
+
+    @PostPersist
+    @PostUpdate
+    void onSave(Object entity) {
+        if (entity instanceof Member member) {
+            Long memberId = member.getId();
+            String name = member.getName();
+            Long teamId = member.getTeam() != null ? member.getTeam().getId() : null;
+            afterCommit(() -> index.putMember(memberId, name, teamId));
+        } else if (entity instanceof Team team) {
+            Long teamId = team.getId();
+            String name = team.getName();
+            afterCommit(() -> index.putTeam(teamId, name));
+        }
+    }
+
+    @PostRemove
+    void onRemove(Object entity) {
+        if (entity instanceof Member member) {
+            Long memberId = member.getId();
+            afterCommit(() -> index.removeMember(memberId));
+        } else if (entity instanceof Team team) {
+            Long teamId = team.getId();
+            afterCommit(() -> index.removeTeam(teamId));
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.querydsl.stats;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/hibernate
+ * - 엔티티 로드, flush, 쿼리 플랜 캐시, 2차 캐시 요약
+ * - HQL(Querydsl 이 만든 JPQL 포함)별 실행 횟수, 시간, 플랜 캐시 적중
+ * - 읽기 전용. 초기화(DELETE)는 hibernate-stats.reset.enabled=true 일 때만 (ResettableHibernateStatisticsEndpoint)
+ */
+@Component
+@Endpoint(id = "hibernate")
+@ConditionalOnProperty(name = "hibernate-stats.reset.enabled", havingValue = "false", matchIfMissing = true)
+public class HibernateStatisticsEndpoint {
+
+    protected final Statistics statistics;
+
+    public HibernateStatisticsEndpoint(EntityManagerFactory emf) {
+        this.statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("enabled", statistics.isStatisticsEnabled());
+        summary.put("entityLoadCount", statistics.getEntityLoadCount());
+        summary.put("entityFetchCount", statistics.getEntityFetchCount());
+        summary.put("flushCount", statistics.getFlushCount());
+        summary.put("prepareStatementCount", statistics.getPrepareStatementCount());
+        summary.put("queryExecutionCount", statistics.getQueryExecutionCount());
+        summary.put("queryExecutionMaxTimeMs", statistics.getQueryExecutionMaxTime());
+        summary.put("queryPlanCacheHitCount", statistics.getQueryPlanCacheHitCount());
+        summary.put("queryPlanCacheMissCount", statistics.getQueryPlanCacheMissCount());
+        summary.put("secondLevelCacheHitCount", statistics.getSecondLevelCacheHitCount());
+        summary.put("secondLevelCacheMissCount", statistics.getSecondLevelCacheMissCount());
+        summary.put("queries", queries());
+        return summary;
+    }
+
+    private List<Map<String, Object>> queries() {
+        return Arrays.stream(statistics.getQueries())
+                .map(hql -> queryStatistics(hql, statistics.getQueryStatistics(hql)))
+                .sorted(Comparator.comparingLong((Map<String, Object> q) -> (Long) q.get("totalTimeMs")).reversed())
+                .toList();
+    }
+
+    private Map<String, Object> queryStatistics(String hql, QueryStatistics query) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hql", hql);
+        result.put("executionCount", query.getExecutionCount());
+        result.put("rowCount", query.getExecutionRowCount());
+        result.put("avgTimeMs", query.getExecutionAvgTime());
+        result.put("maxTimeMs", query.getExecutionMaxTime());
+        result.put("totalTimeMs", query.getExecutionTotalTime());
+        result.put("planCacheHitCount", query.getPlanCacheHitCount());
+        result.put("planCacheMissCount", query.getPlanCacheMissCount());
+        return result;
+    }
+}
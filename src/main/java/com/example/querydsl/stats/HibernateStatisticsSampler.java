@@ -0,0 +1,55 @@
+package com.example.querydsl.stats;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 운영용 샘플링 모드: interval 마다 window 동안만 통계를 수집한다.
+ * - hibernate.generate_statistics 는 true 로 시작해야 Micrometer 바인딩이 등록된다.
+ */
+@Component
+@ConditionalOnProperty(name = "hibernate-stats.sampling.enabled", havingValue = "true")
+public class HibernateStatisticsSampler {
+
+    private final Statistics statistics;
+    private final Duration window;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("hibernate-stats-sampler").daemon().factory());
+
+    public HibernateStatisticsSampler(EntityManagerFactory emf,
+                                      @Value("${hibernate-stats.sampling.window:10s}") Duration window,
+                                      @Value("${hibernate-stats.sampling.interval:60s}") Duration interval) {
+        this.statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        this.window = window;
+        this.interval = interval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        statistics.setStatisticsEnabled(false);
+        scheduler.scheduleAtFixedRate(this::sample, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void sample() {
+        statistics.setStatisticsEnabled(true);
+        scheduler.schedule(() -> statistics.setStatisticsEnabled(false), window.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+}
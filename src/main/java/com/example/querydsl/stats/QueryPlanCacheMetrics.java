@@ -0,0 +1,36 @@
+package com.example.querydsl.stats;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * 쿼리 플랜 캐시(파싱된 HQL/JPQL 재사용) 적중/실패와 prepared statement 수
+ * - H2 서버의 QUERY_CACHE_SIZE 는 적중 수를 알려주지 않으므로 Hibernate 쪽 캐시로 본다.
+ * - hibernate.generate_statistics 가 꺼져 있으면 0 에 머문다.
+ */
+@Component
+public class QueryPlanCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public QueryPlanCacheMetrics(EntityManagerFactory emf) {
+        this.statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("hibernate.plan.cache.requests", statistics, Statistics::getQueryPlanCacheHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("hibernate.plan.cache.requests", statistics, Statistics::getQueryPlanCacheMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("hibernate.prepared.statements", statistics, Statistics::getPrepareStatementCount)
+                .register(registry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.querydsl.stats;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * DELETE /actuator/hibernate 로 통계를 초기화할 수 있는 /actuator/hibernate
+ * - 부하 측정 구간을 나누려는 용도라 perf 프로파일에서만 켠다.
+ */
+@Component
+@Endpoint(id = "hibernate")
+@ConditionalOnProperty(name = "hibernate-stats.reset.enabled", havingValue = "true")
+public class ResettableHibernateStatisticsEndpoint extends HibernateStatisticsEndpoint {
+
+    public ResettableHibernateStatisticsEndpoint(EntityManagerFactory emf) {
+        super(emf);
+    }
+
+    @DeleteOperation
+    public void clear() {
+        statistics.clear();
+    }
+}
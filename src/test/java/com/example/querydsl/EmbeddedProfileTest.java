@@ -0,0 +1,49 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.repository.MemberJpaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * embedded 프로파일은 H2 서버 없이 뜬다.
+ */
+@SpringBootTest
+@ActiveProfiles("embedded")
+@Transactional
+class EmbeddedProfileTest {
+
+    @Value("${spring.datasource.url}")
+    String url;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Test
+    void searchInProcess() {
+        assertThat(url).startsWith("jdbc:h2:mem:");
+
+        Team team = new Team("embeddedTeam");
+        em.persist(team);
+        em.persist(new Member("embedded1", 10, team));
+        em.persist(new Member("embedded2", 20, team));
+        em.flush();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("embeddedTeam");
+        condition.setAgeGoe(15);
+        assertThat(memberJpaRepository.searchByWhere(condition)).extracting("username").containsExactly("embedded2");
+    }
+}
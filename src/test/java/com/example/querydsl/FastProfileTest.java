@@ -0,0 +1,63 @@
+package com.example.querydsl;
+
+import com.example.querydsl.cdc.ChangeCaptureListener;
+import com.example.querydsl.repository.MemberAgeHistogramListener;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerGroup;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * fast 프로파일(lazy-initialization)에서도 Hibernate 리스너가 등록되고 @Scheduled 작업이 시작된다.
+ */
+@SpringBootTest
+@ActiveProfiles("fast")
+class FastProfileTest {
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    List<ScheduledTaskHolder> scheduledTaskHolders;
+
+    @Test
+    void listenersRegisteredUnderLazyInit() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        assertThat(listeners(registry.getEventListenerGroup(EventType.POST_COMMIT_INSERT)))
+                .hasAtLeastOneElementOfType(MemberAgeHistogramListener.class);
+        assertThat(listeners(registry.getEventListenerGroup(EventType.POST_INSERT)))
+                .hasAtLeastOneElementOfType(ChangeCaptureListener.class);
+    }
+
+    @Test
+    void scheduledJobsStartUnderLazyInit() {
+        List<String> tasks = scheduledTaskHolders.stream()
+                .flatMap(holder -> holder.getScheduledTasks().stream())
+                .map(task -> task.getTask().toString())
+                .toList();
+
+        assertThat(tasks).anyMatch(task -> task.contains("MemberArchiveJob.archiveDeleted"));
+        assertThat(tasks).anyMatch(task -> task.contains("OutboxPublisher.poll"));
+        assertThat(tasks).anyMatch(task -> task.contains("OutboxPublisher.purge"));
+    }
+
+    private static <T> List<Object> listeners(EventListenerGroup<T> group) {
+        List<Object> listeners = new ArrayList<>();
+        group.listeners().forEach(listeners::add);
+        return listeners;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.querydsl;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 내장 메모리 H2 와 TCP 서버 H2 의 쿼리별 지연시간 비교
+ * - 같은 테이블/데이터를 양쪽에 만들고 리포지토리 쿼리 모양(PK 조회, 인덱스 범위, 조인 페이지, count)을 반복 실행
+ * - 결과는 출력으로만 확인 (p50/p99 µs). TCP 서버가 떠 있지 않으면 건너뛴다.
+ */
+class H2LatencyComparisonTest {
+
+    static final String EMBEDDED_URL = "jdbc:h2:mem:latency;DB_CLOSE_DELAY=-1;LOCK_MODE=3;QUERY_CACHE_SIZE=256";
+    static final String TCP_URL = "jdbc:h2:tcp://localhost/~/querydsl";
+
+    static final int TEAMS = 100;
+    static final int MEMBERS = 10_000;
+    static final int WARMUP = 500;
+    static final int ITERATIONS = 2_000;
+
+    static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+    static {
+        QUERIES.put("findById", "select m.member_id, m.name, m.age from latency_member m where m.member_id = ?");
+        QUERIES.put("ageRange", "select m.member_id, m.name from latency_member m where m.age between ? and ? + 1");
+        QUERIES.put("joinPage", """
+                select m.member_id, m.name, m.age, t.team_id, t.name from latency_member m
+                left join latency_team t on t.team_id = m.team_id
+                where t.team_id = ? order by m.member_id limit 20""");
+        QUERIES.put("countByTeam", "select count(*) from latency_member m where m.team_id = ?");
+    }
+
+    @Test
+    void compareEmbeddedWithTcp() throws SQLException {
+        Map<String, long[]> embedded;
+        try (Connection connection = DriverManager.getConnection(EMBEDDED_URL, "sa", "")) {
+            embedded = measure(connection);
+        }
+
+        Connection tcp;
+        try {
+            tcp = DriverManager.getConnection(TCP_URL, "sa", "");
+        } catch (SQLException e) {
+            assumeTrue(false, "H2 TCP server not running: " + e.getMessage());
+            return;
+        }
+        Map<String, long[]> overTcp;
+        try (tcp) {
+            overTcp = measure(tcp);
+        }
+
+        System.out.printf("%-12s %12s %12s %12s %12s%n", "query", "embed p50", "embed p99", "tcp p50", "tcp p99");
+        QUERIES.keySet().forEach(name -> System.out.printf("%-12s %10dµs %10dµs %10dµs %10dµs%n", name,
+                percentile(embedded.get(name), 50), percentile(embedded.get(name), 99),
+                percentile(overTcp.get(name), 50), percentile(overTcp.get(name), 99)));
+
+        assertThat(embedded).containsOnlyKeys(QUERIES.keySet());
+        assertThat(overTcp).containsOnlyKeys(QUERIES.keySet());
+    }
+
+    private Map<String, long[]> measure(Connection connection) throws SQLException {
+        createTables(connection);
+        try {
+            Map<String, long[]> latencies = new LinkedHashMap<>();
+            for (Map.Entry<String, String> query : QUERIES.entrySet()) {
+                try (PreparedStatement ps = connection.prepareStatement(query.getValue())) {
+                    SplittableRandom random = new SplittableRandom(42);
+                    for (int i = 0; i < WARMUP; i++) {
+                        execute(ps, query.getKey(), random);
+                    }
+                    long[] nanos = new long[ITERATIONS];
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        long start = System.nanoTime();
+                        execute(ps, query.getKey(), random);
+                        nanos[i] = System.nanoTime() - start;
+                    }
+                    latencies.put(query.getKey(), nanos);
+                }
+            }
+            return latencies;
+        } finally {
+            dropTables(connection);
+        }
+    }
+
+    private void execute(PreparedStatement ps, String name, SplittableRandom random) throws SQLException {
+        switch (name) {
+            case "findById" -> ps.setLong(1, random.nextInt(MEMBERS) + 1);
+            case "ageRange" -> {
+                int age = random.nextInt(99);
+                ps.setInt(1, age);
+                ps.setInt(2, age);
+            }
+            default -> ps.setLong(1, random.nextInt(TEAMS) + 1);
+        }
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rs.getObject(1);
+            }
+        }
+    }
+
+    private void createTables(Connection connection) throws SQLException {
+        dropTables(connection);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table latency_team (team_id bigint primary key, name varchar(255))");
+            statement.execute("""
+                    create table latency_member (member_id bigint primary key, name varchar(255), age int,
+                    team_id bigint references latency_team)""");
+            statement.execute("create index idx_latency_member_age on latency_member (age)");
+            statement.execute("create index idx_latency_member_team on latency_member (team_id)");
+        }
+        try (PreparedStatement ps = connection.prepareStatement("insert into latency_team values (?, ?)")) {
+            for (int i = 1; i <= TEAMS; i++) {
+                ps.setLong(1, i);
+                ps.setString(2, "team" + i);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        try (PreparedStatement ps = connection.prepareStatement("insert into latency_member values (?, ?, ?, ?)")) {
+            SplittableRandom random = new SplittableRandom(7);
+            for (int i = 1; i <= MEMBERS; i++) {
+                ps.setLong(1, i);
+                ps.setString(2, "member" + i);
+                ps.setInt(3, random.nextInt(100));
+                ps.setLong(4, random.nextInt(TEAMS) + 1);
+                ps.addBatch();
+                if (i % 1000 == 0) {
+                    ps.executeBatch();
+                }
+            }
+        }
+    }
+
+    private void dropTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists latency_member");
+            statement.execute("drop table if exists latency_team");
+        }
+    }
+
+    private static long percentile(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.querydsl.cdc;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.repository.MemberTeamMover;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ChangeCaptureTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ChangeEventSink changeEventSink;
+
+    @Autowired
+    MemberTeamMover memberTeamMover;
+
+    List<Long> teamIds = new ArrayList<>();
+
+    @AfterEach
+    void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createNativeQuery("delete from member where team_id in :ids").setParameter("ids", teamIds).executeUpdate();
+            em.createNativeQuery("delete from team where team_id in :ids").setParameter("ids", teamIds).executeUpdate();
+        });
+    }
+
+    @Test
+    void committedChangesArePublished() throws InterruptedException {
+        Long memberId = transactionTemplate.execute(status -> {
+            Team team = new Team("cdcTeam");
+            em.persist(team);
+            teamIds.add(team.getId());
+            Member member = new Member("cdc1", 10, team);
+            em.persist(member);
+            return member.getId();
+        });
+        transactionTemplate.executeWithoutResult(status -> em.find(Member.class, memberId).setAge(11));
+        // 롤백된 변경은 outbox 에도 남지 않는다.
+        transactionTemplate.executeWithoutResult(status -> {
+            em.find(Member.class, memberId).setAge(99);
+            em.flush();
+            status.setRollbackOnly();
+        });
+
+        List<ChangeEvent> events = await(e -> "Member".equals(e.aggregateType())
+                && Objects.equals(e.aggregateId(), memberId), 2);
+        assertThat(events).extracting(ChangeEvent::operation).containsExactly("INSERT", "UPDATE");
+        assertThat(events).extracting(ChangeEvent::id).doesNotContainNull();
+    }
+
+    @Test
+    void bulkMoveCarriesAffectedIds() throws InterruptedException {
+        List<Long> memberIds = transactionTemplate.execute(status -> {
+            Team teamA = new Team("cdcTeamA");
+            Team teamB = new Team("cdcTeamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            teamIds.add(teamA.getId());
+            teamIds.add(teamB.getId());
+            Member member1 = new Member("cdcMove1", 10, teamA);
+            Member member2 = new Member("cdcMove2", 20, teamA);
+            em.persist(member1);
+            em.persist(member2);
+            return List.of(member1.getId(), member2.getId());
+        });
+        transactionTemplate.executeWithoutResult(status ->
+                memberTeamMover.moveMembers(teamIds.get(0), teamIds.get(1), null));
+
+        Set<String> expected = memberIds.stream().map(String::valueOf).collect(Collectors.toSet());
+        List<ChangeEvent> events = await(e -> "BULK_UPDATE".equals(e.operation()) && e.entityIds() != null
+                && expected.equals(Set.of(e.entityIds().split(","))), 1);
+        assertThat(events.getFirst().detail()).isEqualTo("team " + teamIds.get(0) + " -> " + teamIds.get(1));
+    }
+
+    /**
+     * 큐에는 다른 테스트의 이벤트도 섞여 있으므로 조건에 맞는 것만 모은다.
+     */
+    private List<ChangeEvent> await(Predicate<ChangeEvent> filter, int expected) throws InterruptedException {
+        QueueChangeEventSink sink = (QueueChangeEventSink) changeEventSink;
+        List<ChangeEvent> matched = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (matched.size() < expected && System.nanoTime() < deadline) {
+            ChangeEvent event = sink.getQueue().poll(100, TimeUnit.MILLISECONDS);
+            if (event != null && filter.test(event)) {
+                matched.add(event);
+            }
+        }
+        // 롤백된 변경이 섞이지 않았는지 확인하려고 남은 이벤트도 본다.
+        Thread.sleep(200);
+        sink.getQueue().stream().filter(filter).forEach(matched::add);
+        return matched;
+    }
+}
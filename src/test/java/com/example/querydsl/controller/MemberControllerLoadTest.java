@@ -0,0 +1,190 @@
+package com.example.querydsl.controller;
+
+import com.example.querydsl.QuerydslApplication;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * /v3/members 버스트 부하 테스트: 기본 설정(baseline)과 perf 프로파일을 같은 요청으로 비교
+ * - baseline 은 같은 DB 를 쓰는 두 번째 애플리케이션을 띄워서 잰다 (스키마는 다시 만들지 않는다).
+ * - 요청마다 팀, 나이, 페이지를 바꿔 single-flight 로 합쳐지지 않게 하고, 결과 캐시는 끈다.
+ * - 샘플링을 끄고 통계를 계속 수집해야 플랜 캐시 적중을 볼 수 있다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"member.search.cache.enabled=false", "hibernate-stats.sampling.enabled=false"})
+@ActiveProfiles("perf")
+class MemberControllerLoadTest {
+
+    private static final int CLIENTS = 64;
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final int TEAMS = 20;
+    private static final int MEMBERS_PER_TEAM = 100;
+    private static final double MAX_ERROR_RATE = 0.01;
+    // 측정 잡음 허용치: perf p99 는 baseline p99 의 1.25배 + 5ms 를 넘지 않아야 한다.
+    private static final double P99_TOLERANCE = 1.25;
+    private static final long P99_SLACK_MS = 5;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    final String prefix = "load" + System.nanoTime() + "-";
+    List<Long> teamIds = new ArrayList<>();
+
+    @BeforeEach
+    void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int t = 0; t < TEAMS; t++) {
+                Team team = new Team(prefix + t);
+                em.persist(team);
+                teamIds.add(team.getId());
+                for (int i = 0; i < MEMBERS_PER_TEAM; i++) {
+                    em.persist(new Member(prefix + t + "-" + i, i % 60, team));
+                }
+                em.flush();
+                em.clear();
+            }
+        });
+    }
+
+    @AfterEach
+    void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createNativeQuery("delete from member where team_id in (:ids)").setParameter("ids", teamIds).executeUpdate();
+            em.createNativeQuery("delete from team where team_id in (:ids)").setParameter("ids", teamIds).executeUpdate();
+        });
+    }
+
+    @Test
+    void perfProfileAgainstBaseline() throws Exception {
+        Burst baseline;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .properties("server.port=0",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "member.search.cache.enabled=false")
+                .run()) {
+            int baselinePort = ((WebServerApplicationContext) context).getWebServer().getPort();
+            burst(baselinePort); // 워밍업
+            baseline = burst(baselinePort);
+        }
+        burst(port); // 워밍업
+        Burst perf = burst(port);
+
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        System.out.println("baseline: " + baseline + ", perf: " + perf
+                + ", pool acquire max = " + (acquire != null ? acquire.max(TimeUnit.MILLISECONDS) : -1) + "ms");
+
+        assertThat(perf.latencies()).hasSize(CLIENTS * REQUESTS_PER_CLIENT);
+        // 버스트에도 503(입장 거절)이나 풀 타임아웃 없이 처리되어야 한다.
+        assertThat(perf.errorRate()).isLessThan(MAX_ERROR_RATE);
+        assertThat(perf.errorRate()).isLessThanOrEqualTo(baseline.errorRate());
+        // perf 프로파일이 기본 설정보다 꼬리 지연을 늘리지 않는다.
+        assertThat(perf.p99Ms()).isLessThanOrEqualTo((long) (baseline.p99Ms() * P99_TOLERANCE) + P99_SLACK_MS);
+
+        // 풀, 통계 메트릭이 등록되어 있고 같은 형태의 쿼리는 플랜 캐시에서 재사용된다.
+        assertThat(acquire).isNotNull();
+        assertThat(acquire.count()).isPositive();
+        assertThat(meterRegistry.find("hikaricp.connections.active").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.max").gauge().value()).isEqualTo(10);
+        assertThat(meterRegistry.find("hibernate.prepared.statements").functionCounter().count()).isPositive();
+        assertThat(meterRegistry.find("hibernate.plan.cache.requests").tag("result", "hit")
+                .functionCounter().count()).isPositive();
+    }
+
+    private Burst burst(int port) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger errors = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                int clientId = i;
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+                        HttpRequest request = HttpRequest.newBuilder(uri(port, clientId, j)).build();
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies.add(System.nanoTime() - start);
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Burst(sorted, errors.get());
+    }
+
+    /**
+     * 요청마다 조건이 다르다. 절반은 팀 조건, 나이 하한과 페이지도 바꾼다.
+     */
+    private URI uri(int port, int clientId, int request) {
+        int ageGoe = (clientId * 7 + request) % 60;
+        int page = request % 4;
+        String team = (clientId + request) % 2 == 0 ? "&teamName=" + prefix + (clientId + request) % TEAMS : "";
+        return URI.create("http://localhost:" + port + "/v3/members?size=20&page=" + page + "&ageGoe=" + ageGoe + team);
+    }
+
+    private record Burst(List<Long> latencies, int errors) {
+
+        long p50Ms() {
+            return TimeUnit.NANOSECONDS.toMillis(latencies.get(latencies.size() / 2));
+        }
+
+        long p99Ms() {
+            return TimeUnit.NANOSECONDS.toMillis(latencies.get(latencies.size() * 99 / 100));
+        }
+
+        double errorRate() {
+            return (double) errors / latencies.size();
+        }
+
+        @Override
+        public String toString() {
+            return "requests = " + latencies.size() + ", p50 = " + p50Ms() + "ms, p99 = " + p99Ms() + "ms, errors = " + errors;
+        }
+    }
+}
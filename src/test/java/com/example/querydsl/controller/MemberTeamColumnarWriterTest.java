@@ -0,0 +1,73 @@
+package com.example.querydsl.controller;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberTeamColumnarWriterTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberTeamColumnarWriter memberTeamColumnarWriter;
+
+    @Test
+    void writeBatches() throws IOException {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        int total = MemberTeamColumnarWriter.BATCH_SIZE + 10;
+        for (int i = 0; i < total; i++) {
+            em.persist(new Member("member" + i, i, i == 0 ? null : teamA));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = memberTeamColumnarWriter.write(new MemberSearchCondition(), out);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        List<Integer> batchSizes = new ArrayList<>();
+        List<String> usernames = new ArrayList<>();
+        List<String> teamNames = new ArrayList<>();
+        int size;
+        while ((size = in.readInt()) > 0) {
+            batchSizes.add(size);
+            for (int i = 0; i < size; i++) in.readLong();
+            for (int i = 0; i < size; i++) usernames.add(readString(in));
+            for (int i = 0; i < size; i++) in.readInt();
+            for (int i = 0; i < size; i++) in.readLong();
+            for (int i = 0; i < size; i++) teamNames.add(readString(in));
+        }
+
+        assertThat(count).isEqualTo(total);
+        assertThat(batchSizes).containsExactly(MemberTeamColumnarWriter.BATCH_SIZE, 10);
+        assertThat(usernames).contains("member0", "member" + (total - 1));
+        assertThat(teamNames).containsNull();
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.querydsl.controller;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.repository.MemberJpaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberTeamJsonWriterTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberTeamJsonWriter memberTeamJsonWriter;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @BeforeEach
+    void before() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 0; i < 1000; i++) {
+            em.persist(new Member("member" + i, i % 100, i % 10 == 0 ? null : teamA));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void sameJsonAsObjectMapper() throws Exception {
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = memberTeamJsonWriter.write(condition, out);
+
+        byte[] expected = objectMapper.writeValueAsBytes(memberJpaRepository.searchByWhere(condition));
+        assertThat(count).isEqualTo(1000);
+        assertThat(objectMapper.readTree(out.toByteArray())).isEqualTo(objectMapper.readTree(expected));
+    }
+
+    /**
+     * 1,000건 응답 1회당 할당 바이트 비교
+     * - 스트리밍은 응답 스트림에 바로 쓰므로 버리는 스트림으로, 목록 방식은 결과 byte[] 까지 포함
+     * - GC, JIT 잡음을 줄이려고 워밍업 후 여러 번 재서 각각의 최솟값을 비교
+     */
+    @Test
+    void allocationPer1000Rows() throws Exception {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        for (int i = 0; i < 5; i++) {
+            memberTeamJsonWriter.write(condition, OutputStream.nullOutputStream());
+            objectMapper.writeValueAsBytes(memberJpaRepository.searchByWhere(condition));
+        }
+
+        long streaming = Long.MAX_VALUE;
+        long list = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long before = allocatedBytes();
+            memberTeamJsonWriter.write(condition, OutputStream.nullOutputStream());
+            streaming = Math.min(streaming, allocatedBytes() - before);
+
+            before = allocatedBytes();
+            objectMapper.writeValueAsBytes(memberJpaRepository.searchByWhere(condition));
+            list = Math.min(list, allocatedBytes() - before);
+        }
+
+        System.out.println("streaming = " + streaming + " bytes, list = " + list + " bytes");
+        // 목록, 결과 byte[] 만큼은 확실히 덜 할당한다.
+        assertThat(streaming).isLessThan((long) (list * 0.9));
+    }
+
+    private long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.querydsl.datagen;
+
+import com.example.querydsl.entity.Member;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberDataGeneratorTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberDataGenerator memberDataGenerator;
+
+    @Test
+    void deterministicAndSkewed() {
+        DataSetSpec spec = DataSetSpec.of(100, 10_000);
+
+        List<MemberDataGenerator.MemberRow> first = generate(spec);
+        List<MemberDataGenerator.MemberRow> second = generate(spec);
+        assertThat(first).isEqualTo(second);
+
+        // Zipf: 가장 큰 팀이 평균 팀 크기보다 훨씬 크다.
+        Map<Long, Long> teamSizes = first.stream()
+                .filter(row -> row.teamId() != null)
+                .collect(Collectors.groupingBy(MemberDataGenerator.MemberRow::teamId, Collectors.counting()));
+        long largest = teamSizes.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        assertThat(largest).isGreaterThan(5L * spec.getMembers() / spec.getTeams());
+        assertThat(first).allMatch(row -> row.age() >= 0 && row.age() <= 99);
+    }
+
+    @Test
+    void loadThenPersist() {
+        long loaded = memberDataGenerator.load(DataSetSpec.of(10, 2_000));
+        assertThat(loaded).isEqualTo(2_000);
+
+        // 예약한 id 와 겹치지 않아야 한다.
+        Member member = new Member("after-load", 10);
+        em.persist(member);
+        em.flush();
+
+        Long count = em.createQuery("select count(m) from Member m where m.team is not null or m.name = 'after-load'", Long.class)
+                .getSingleResult();
+        assertThat(count).isGreaterThan(1_000);
+    }
+
+    private List<MemberDataGenerator.MemberRow> generate(DataSetSpec spec) {
+        AtomicLong ids = new AtomicLong();
+        List<MemberDataGenerator.TeamRow> teams = memberDataGenerator.generateTeams(spec, ids::incrementAndGet);
+        List<MemberDataGenerator.MemberRow> rows = new ArrayList<>();
+        memberDataGenerator.generateMembers(spec, ids::incrementAndGet, teams, rows::add);
+        return rows;
+    }
+}
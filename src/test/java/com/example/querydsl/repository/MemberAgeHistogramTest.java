@@ -0,0 +1,154 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커밋된 변경만 반영되므로 트랜잭션을 직접 관리
+ * - 공유 DB 이므로 팀 이름은 실행마다 다르게, 정리는 이 테스트의 팀만
+ */
+@SpringBootTest
+class MemberAgeHistogramTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberAgeHistogram memberAgeHistogram;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    final String teamAName = "histogramA-" + System.nanoTime();
+    final String teamBName = "histogramB-" + System.nanoTime();
+    Long member1Id;
+    List<Long> teamIds;
+
+    @BeforeEach
+    void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team(teamAName);
+            Team teamB = new Team(teamBName);
+            em.persist(teamA);
+            em.persist(teamB);
+            teamIds = List.of(teamA.getId(), teamB.getId());
+
+            Member member1 = new Member("member1", 10, teamA);
+            em.persist(member1);
+            em.persist(new Member("member2", 20, teamA));
+            em.persist(new Member("member3", 30, teamB));
+            em.persist(new Member("member4", 40, teamB));
+            member1Id = member1.getId();
+        });
+    }
+
+    @AfterEach
+    void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            // soft delete 로는 행이 남아 team 을 지울 수 없으므로 native 로 지운다.
+            em.createNativeQuery("delete from member where team_id in (:ids)").setParameter("ids", teamIds).executeUpdate();
+            em.createNativeQuery("delete from team where team_id in (:ids)").setParameter("ids", teamIds).executeUpdate();
+        });
+        memberAgeHistogram.invalidate();
+    }
+
+    @Test
+    void countByTeamAndAge() throws InterruptedException {
+        // 무효 상태에서는 다시 만드는 동안 empty (count 쿼리로 대체)
+        assertThat(awaitCount(condition(teamAName, 15, null))).hasValue(1);
+        assertThat(memberAgeHistogram.count(condition(teamBName, null, 35))).hasValue(1);
+
+        // 엔티티 변경 (커밋 후 반영)
+        transactionTemplate.executeWithoutResult(status -> em.find(Member.class, member1Id).setAge(50));
+        assertThat(memberAgeHistogram.count(condition(teamAName, 15, null))).hasValue(2);
+
+        // 벌크 연산 (커밋 후 무효화, 다음 조회 때 다시 만듦). 다른 데이터는 건드리지 않도록 이 테스트의 팀만
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createQuery("update Member m set m.age = m.age + 100 where m.age < 45 and m.team.id in :ids")
+                    .setParameter("ids", teamIds)
+                    .executeUpdate();
+            memberAgeHistogram.invalidateAfterCommit();
+        });
+        assertThat(awaitCount(condition(teamBName, 120, null))).hasValue(2);
+    }
+
+    @Test
+    void outOfRangeAgesGoToEdgeBuckets() throws InterruptedException {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = em.find(Team.class, teamIds.get(0));
+            em.persist(new Member("old", MemberAgeHistogram.MAX_AGE + 44, teamA));
+            em.persist(new Member("negative", -1, teamA));
+        });
+
+        // 다시 만들 때도, 리스너로 더할 때도 실패하지 않는다.
+        assertThat(awaitCount(condition(teamAName, null, null))).hasValue(4);
+        assertThat(memberAgeHistogram.count(condition(teamAName, 15, null))).hasValue(2);
+        assertThat(memberAgeHistogram.count(condition(teamAName, 0, MemberAgeHistogram.MAX_AGE - 1))).hasValue(2);
+        // overflow 버킷에 일부만 걸치면 알 수 없으므로 empty
+        assertThat(memberAgeHistogram.count(condition(teamAName, 15, 400))).isEmpty();
+
+        transactionTemplate.executeWithoutResult(status ->
+                em.persist(new Member("older", 1000, em.find(Team.class, teamIds.get(0)))));
+        assertThat(memberAgeHistogram.count(condition(teamAName, 15, null))).hasValue(3);
+    }
+
+    @Test
+    void versionedUpdatesMoveCountsWithoutRebuild() throws InterruptedException {
+        assertThat(awaitCount(condition(teamAName, null, null))).hasValue(2);
+        Long version = transactionTemplate.execute(status -> em.find(Member.class, member1Id).getVersion());
+
+        transactionTemplate.executeWithoutResult(status ->
+                assertThat(memberJpaRepository.changeAgeIfVersion(member1Id, version, 35)).isTrue());
+        // 무효화가 아니라 delta 로 반영되므로 바로 값이 나온다.
+        assertThat(memberAgeHistogram.count(condition(teamAName, 30, null))).hasValue(1);
+
+        transactionTemplate.executeWithoutResult(status ->
+                assertThat(memberJpaRepository.changeTeamIfVersion(member1Id, version + 1, teamIds.get(1))).isTrue());
+        assertThat(memberAgeHistogram.count(condition(teamAName, null, null))).hasValue(1);
+        assertThat(memberAgeHistogram.count(condition(teamBName, 30, 39))).hasValue(2);
+    }
+
+    @Test
+    void notUsedForUsernameOrInsideWriteTransaction() {
+        MemberSearchCondition byName = condition(teamAName, null, null);
+        byName.setUsername("member1");
+        assertThat(memberAgeHistogram.count(byName)).isEmpty();
+
+        transactionTemplate.executeWithoutResult(status ->
+                assertThat(memberAgeHistogram.count(condition(teamAName, null, null))).isEmpty());
+    }
+
+    private OptionalLong awaitCount(MemberSearchCondition condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        OptionalLong count = memberAgeHistogram.count(condition);
+        while (count.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            count = memberAgeHistogram.count(condition);
+        }
+        return count;
+    }
+
+    private MemberSearchCondition condition(String teamName, Integer ageGoe, Integer ageLoe) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName(teamName);
+        condition.setAgeGoe(ageGoe);
+        condition.setAgeLoe(ageLoe);
+        return condition;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.example.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberArchiveJobTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberArchiveJob memberArchiveJob;
+
+    @Test
+    void softDeleteThenArchive() {
+        Team team = new Team("archiveTeam");
+        em.persist(team);
+        for (int i = 0; i < 10; i++) {
+            em.persist(new Member("archive" + i, i, team));
+        }
+        em.flush();
+        long before = nativeCount("member");
+
+        // Querydsl 벌크 삭제도 soft delete 로 바뀐다.
+        long deleted = new JPAQueryFactory(em)
+                .delete(member)
+                .where(member.name.startsWith("archive"), member.age.lt(8))
+                .execute();
+        em.clear();
+        assertThat(deleted).isEqualTo(8);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("archiveTeam");
+        assertThat(memberJpaRepository.searchByWhere(condition)).extracting("username")
+                .containsExactlyInAnyOrder("archive8", "archive9");
+        assertThat(nativeCount("member")).isEqualTo(before);
+
+        // 다른 테스트가 커밋한 삭제 회원이 있을 수 있다.
+        int archived = memberArchiveJob.archiveDeleted();
+        assertThat(archived).isGreaterThanOrEqualTo(8);
+        assertThat(nativeCount("member")).isEqualTo(before - archived);
+        // 지워진 행은 모두 보관되어 있다.
+        assertThat(((Number) em.createNativeQuery("select count(*) from member_archive where team_id = :id")
+                .setParameter("id", team.getId())
+                .getSingleResult()).longValue()).isEqualTo(8);
+        assertThat(memberJpaRepository.searchByWhere(condition)).hasSize(2);
+    }
+
+    private long nativeCount(String table) {
+        return ((Number) em.createNativeQuery("select count(*) from " + table).getSingleResult()).longValue();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.entity.Member;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "member.loader.window=50ms")
+class MemberBatchLoaderTest {
+
+    @Autowired
+    MemberBatchLoader memberBatchLoader;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Test
+    void loadsWithinWindowInOneQuery() {
+        DistributionSummary batchSizes = meterRegistry.get("member.loader.batch.size").summary();
+        long batchesBefore = batchSizes.count();
+
+        // 없는 id 라 커밋된 데이터 없이도 묶음 처리만 확인할 수 있다.
+        List<Long> ids = LongStream.range(-10, 0).boxed().toList();
+        List<Optional<Member>> result = memberBatchLoader.loadAll(ids);
+
+        assertThat(result).hasSize(10).allMatch(Optional::isEmpty);
+        assertThat(batchSizes.count() - batchesBefore).isEqualTo(1);
+    }
+
+    @Test
+    void findByIdOutsideTransactionGoesThroughLoader() {
+        DistributionSummary batchSizes = meterRegistry.get("member.loader.batch.size").summary();
+        long batchesBefore = batchSizes.count();
+
+        assertThat(memberJpaRepository.findById(-1L)).isEmpty();
+        assertThat(batchSizes.count() - batchesBefore).isEqualTo(1);
+    }
+
+    @Test
+    void closedLoaderFailsInsteadOfHanging() {
+        MemberBatchLoader loader = new MemberBatchLoader(emf, new SimpleMeterRegistry(), Duration.ofMillis(1), 1);
+        loader.close();
+
+        assertThat(loader.load(-1L)).isCompletedExceptionally();
+    }
+
+    @Test
+    void padInClause() {
+        assertThat(MemberBatchLoader.padded(Set.of(1L))).hasSize(1);
+        assertThat(MemberBatchLoader.padded(Set.of(1L, 2L, 3L))).hasSize(4);
+        assertThat(MemberBatchLoader.padded(Set.of(1L, 2L, 3L, 4L, 5L))).hasSize(8).contains(1L, 2L, 3L, 4L, 5L);
+    }
+}
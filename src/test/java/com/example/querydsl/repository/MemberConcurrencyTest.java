@@ -0,0 +1,133 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 한 회원(hot row)에 동시 갱신 - 커밋된 데이터가 필요하므로 트랜잭션을 직접 관리
+ */
+@SpringBootTest
+class MemberConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 100;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    StripedLock stripedLock;
+
+    Long memberId;
+    Long teamAId;
+    Long teamBId;
+
+    @BeforeEach
+    void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            Member member = new Member("member1", 10, teamA);
+            em.persist(member);
+            memberId = member.getId();
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+        });
+    }
+
+    @AfterEach
+    void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            // soft delete 로는 행이 남아 team 을 지울 수 없으므로 native 로 지운다.
+            // 공유 DB 이므로 이 테스트가 만든 행만 지운다.
+            em.createNativeQuery("delete from member where member_id = :id").setParameter("id", memberId).executeUpdate();
+            em.createNativeQuery("delete from team where team_id in (:ids)")
+                    .setParameter("ids", List.of(teamAId, teamBId))
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    void compareAndSetUnderContention() throws Exception {
+        AtomicLong success = new AtomicLong();
+        AtomicLong conflict = new AtomicLong();
+        long elapsed = run(i -> changeTeam(i, success, conflict));
+
+        System.out.println("cas: success = " + success + ", conflict = " + conflict
+                + ", ops/s = " + (THREADS * OPS_PER_THREAD) * 1_000_000_000L / elapsed);
+        assertThat(success.get() + conflict.get()).isEqualTo(THREADS * OPS_PER_THREAD);
+        assertThat(currentVersion()).isEqualTo(success.get());
+    }
+
+    @Test
+    void stripedLockHasNoConflicts() throws Exception {
+        AtomicLong success = new AtomicLong();
+        AtomicLong conflict = new AtomicLong();
+        long elapsed = run(i -> stripedLock.withLock(memberId, () -> {
+            changeTeam(i, success, conflict);
+            return null;
+        }));
+
+        System.out.println("striped: success = " + success + ", conflict = " + conflict
+                + ", ops/s = " + (THREADS * OPS_PER_THREAD) * 1_000_000_000L / elapsed);
+        assertThat(conflict.get()).isZero();
+        assertThat(currentVersion()).isEqualTo(THREADS * OPS_PER_THREAD);
+    }
+
+    private void changeTeam(int i, AtomicLong success, AtomicLong conflict) {
+        boolean changed = transactionTemplate.execute(status -> {
+            Long version = currentVersion();
+            return memberJpaRepository.changeTeamIfVersion(memberId, version, i % 2 == 0 ? teamAId : teamBId);
+        });
+        (changed ? success : conflict).incrementAndGet();
+    }
+
+    private Long currentVersion() {
+        return em.createQuery("select m.version from Member m where m.id = :id", Long.class)
+                .setParameter("id", memberId)
+                .getSingleResult();
+    }
+
+    private long run(IntConsumer op) throws Exception {
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        op.accept(i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
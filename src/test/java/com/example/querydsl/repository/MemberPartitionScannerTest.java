@@ -0,0 +1,85 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "member.scan.max-concurrency=2")
+class MemberPartitionScannerTest {
+
+    // 청크 경계를 넘도록 CHUNK_SIZE 보다 많이
+    static final int MEMBERS = MemberPartitionScanner.CHUNK_SIZE * 2 + 500;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberPartitionScanner memberPartitionScanner;
+
+    Long teamId;
+    List<Long> memberIds = new ArrayList<>();
+    MemberSearchCondition condition = new MemberSearchCondition();
+
+    @BeforeEach
+    void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = new Team("partitionTeam");
+            em.persist(team);
+            teamId = team.getId();
+            for (int i = 0; i < MEMBERS; i++) {
+                Member member = new Member("partition" + i, i % 100, team);
+                em.persist(member);
+                memberIds.add(member.getId());
+                if (i % 500 == 0) {
+                    em.flush();
+                    em.clear();
+                    team = em.getReference(Team.class, teamId);
+                }
+            }
+        });
+        condition.setTeamName("partitionTeam");
+    }
+
+    @AfterEach
+    void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createNativeQuery("delete from member where team_id = :id").setParameter("id", teamId).executeUpdate();
+            em.createNativeQuery("delete from team where team_id = :id").setParameter("id", teamId).executeUpdate();
+        });
+    }
+
+    @Test
+    void scanUnorderedReturnsEveryIdOnce() {
+        Queue<Long> seen = new ConcurrentLinkedQueue<>();
+
+        // 파티션 수가 동시 실행 상한(2)보다 많아도 모두 처리된다.
+        memberPartitionScanner.scanUnordered(condition, 8, dto -> seen.add(dto.getMemberId()));
+
+        assertThat(seen).hasSize(MEMBERS).containsExactlyInAnyOrderElementsOf(memberIds);
+    }
+
+    @Test
+    void scanOrderedKeepsIdOrder() {
+        List<MemberTeamDto> result = memberPartitionScanner.scanOrdered(condition, 3);
+
+        assertThat(result).extracting(MemberTeamDto::getMemberId).containsExactlyElementsOf(memberIds);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.querydsl.repository;
 
 import com.example.querydsl.dto.MemberSearchCondition;
 import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.dto.NameMatch;
 import com.example.querydsl.entity.Member;
 import com.example.querydsl.entity.QMember;
 import com.example.querydsl.entity.Team;
@@ -12,11 +13,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @Transactional
@@ -122,6 +126,109 @@ class MemberRepositoryTest {
         assertThat(page.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
     }
 
+    @Test
+    void searchComplexSorted() {
+        // 공유 DB 에 남아 있는 다른 데이터와 섞이지 않도록 이 테스트의 이름 접두사로 거른다.
+        String prefix = "sorted" + System.nanoTime() + "-";
+        Team teamA = new Team(prefix + "teamA");
+        Team teamB = new Team(prefix + "teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member(prefix + "member1", 20, teamB));
+        em.persist(new Member(prefix + "member2", 20, teamA));
+        em.persist(new Member(prefix + "member3", 10, teamA));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername(prefix);
+        condition.setUsernameMatch(NameMatch.PREFIX);
+        Page<MemberTeamDto> byAge = memberRepository.searchComplex(condition,
+                PageRequest.of(0, 3, Sort.by(Sort.Order.desc("age"))));
+        // 나이가 같으면 id 순
+        assertThat(byAge.getContent()).extracting("username")
+                .containsExactly(prefix + "member1", prefix + "member2", prefix + "member3");
+
+        Page<MemberTeamDto> byTeam = memberRepository.searchDeferredJoin(condition,
+                PageRequest.of(0, 3, Sort.by("teamName", "username")));
+        assertThat(byTeam.getContent()).extracting("username")
+                .containsExactly(prefix + "member2", prefix + "member3", prefix + "member1");
+
+        assertThatThrownBy(() -> memberRepository.searchComplex(condition, PageRequest.of(0, 3, Sort.by("nameLower"))))
+                .isInstanceOf(UnsupportedSortException.class);
+        assertThatThrownBy(() -> MemberSorts.validate(Sort.by("nameLower")))
+                .isInstanceOf(UnsupportedSortException.class);
+    }
+
+    @Test
+    void searchDeferredJoin() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        for (int i = 1; i <= 4; i++) {
+            em.persist(new Member("member" + i, i * 10, i <= 2 ? teamA : teamB));
+        }
+
+        Page<MemberTeamDto> page = memberRepository.searchDeferredJoin(new MemberSearchCondition(), PageRequest.of(1, 3));
+        assertThat(page.getContent()).extracting("username").containsExactly("member4");
+        assertThat(page.getContent()).extracting("teamName").containsExactly("teamB");
+        assertThat(page.getTotalElements()).isEqualTo(4);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        Page<MemberTeamDto> teamAPage = memberRepository.searchDeferredJoin(condition, PageRequest.of(0, 3));
+        assertThat(teamAPage.getContent()).extracting("username").containsExactly("member1", "member2");
+    }
+
+    @Test
+    void searchSlice() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 1; i <= 4; i++) {
+            em.persist(new Member("member" + i, i * 10, teamA));
+        }
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        Slice<MemberTeamDto> first = memberRepository.searchSlice(condition, PageRequest.of(0, 3));
+        assertThat(first.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
+        assertThat(first.hasNext()).isTrue();
+
+        Slice<MemberTeamDto> last = memberRepository.searchSlice(condition, PageRequest.of(1, 3));
+        assertThat(last.getContent()).extracting("username").containsExactly("member4");
+        assertThat(last.hasNext()).isFalse();
+
+        condition.setTeamName("teamA");
+        assertThat(memberRepository.searchCount(condition)).isEqualTo(4);
+    }
+
+    @Test
+    void searchByNameMatch() {
+        em.persist(new Member("Member1", 10));
+        em.persist(new Member("member12", 20));
+        em.persist(new Member("other", 30));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("member1");
+
+        condition.setUsernameMatch(NameMatch.EXACT);
+        assertThat(memberRepository.searchByWhere(condition)).isEmpty();
+
+        condition.setUsernameMatch(NameMatch.PREFIX);
+        assertThat(memberRepository.searchByWhere(condition)).extracting("username").containsExactly("member12");
+
+        condition.setUsernameMatch(NameMatch.IGNORE_CASE);
+        assertThat(memberRepository.searchByWhere(condition)).extracting("username").containsExactly("Member1");
+
+        condition.setUsernameMatch(NameMatch.IGNORE_CASE_PREFIX);
+        assertThat(memberRepository.searchByWhere(condition)).extracting("username")
+                .containsExactlyInAnyOrder("Member1", "member12");
+
+        condition.setUsername("EMBER");
+        condition.setUsernameMatch(NameMatch.CONTAINS);
+        assertThat(memberRepository.searchByWhere(condition)).extracting("username")
+                .containsExactlyInAnyOrder("Member1", "member12");
+    }
+
     /**
      * QuerydslPredicateExecutor - 실무에서 사용하기 어렵다.
      */
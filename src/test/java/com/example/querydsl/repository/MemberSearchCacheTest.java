@@ -0,0 +1,125 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.dto.NameMatch;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "member.search.cache.large-threshold=1KB")
+class MemberSearchCacheTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberSearchCache memberSearchCache;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    Long teamId;
+
+    @AfterEach
+    void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createNativeQuery("delete from member where team_id = :id").setParameter("id", teamId).executeUpdate();
+            em.createNativeQuery("delete from team where team_id = :id").setParameter("id", teamId).executeUpdate();
+        });
+    }
+
+    @Test
+    void cachedUntilTableChanges() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = new Team("cacheTeam");
+            em.persist(team);
+            teamId = team.getId();
+            for (int i = 0; i < 30; i++) {
+                em.persist(new Member("cache" + i, i, team));
+            }
+        });
+        MemberSearchCondition small = new MemberSearchCondition();
+        small.setTeamName("cacheTeam");
+        small.setAgeLoe(1);
+        MemberSearchCondition large = new MemberSearchCondition();
+        large.setTeamName("cacheTeam");
+
+        // 작은 결과는 힙, 1KB 를 넘는 결과는 힙 밖
+        assertThat(memberSearchCache.searchByWhere(small).content()).hasSize(2);
+        assertThat(memberSearchCache.searchByWhere(large).content()).hasSize(30);
+        double heapHits = hits("heap");
+        double offHeapHits = hits("off-heap");
+        assertThat(memberSearchCache.searchByWhere(small).content()).hasSize(2);
+        List<MemberTeamDto> fromOffHeap = memberSearchCache.searchByWhere(large).content();
+        assertThat(fromOffHeap).hasSize(30);
+        assertThat(fromOffHeap.getFirst()).isInstanceOf(MemberTeamDto.class);
+        assertThat(hits("heap")).isEqualTo(heapHits + 1);
+        assertThat(hits("off-heap")).isEqualTo(offHeapHits + 1);
+
+        // 커밋된 변경은 다음 조회에 반영된다.
+        transactionTemplate.executeWithoutResult(status ->
+                em.persist(new Member("cache30", 0, em.find(Team.class, teamId))));
+        assertThat(memberSearchCache.searchByWhere(small).content()).hasSize(3);
+        assertThat(memberSearchCache.searchByWhere(large).content()).hasSize(31);
+    }
+
+    @Test
+    void pageKeyIsNormalized() {
+        MemberSearchCondition upper = new MemberSearchCondition();
+        upper.setUsername("CacheNobody");
+        upper.setUsernameMatch(NameMatch.IGNORE_CASE);
+        MemberSearchCondition lower = new MemberSearchCondition();
+        lower.setUsername("cachenobody");
+        lower.setUsernameMatch(NameMatch.IGNORE_CASE);
+        teamId = -1L;
+
+        Page<MemberTeamDto> first = memberSearchCache.searchComplex(upper, PageRequest.of(0, 10));
+        double heapHits = hits("heap");
+        Page<MemberTeamDto> second = memberSearchCache.searchComplex(lower, PageRequest.of(0, 10));
+
+        assertThat(first.getTotalElements()).isZero();
+        assertThat(second.getTotalElements()).isZero();
+        assertThat(hits("heap")).isEqualTo(heapHits + 1);
+    }
+
+    @Test
+    void blankTeamNameIsNotUnfiltered() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = new Team("cacheBlankTeam");
+            em.persist(team);
+            teamId = team.getId();
+            em.persist(new Member("cacheBlank", 10, team));
+        });
+        MemberSearchCondition unfiltered = new MemberSearchCondition();
+        MemberSearchCondition blank = new MemberSearchCondition();
+        blank.setTeamName("");
+
+        // team.name = '' 는 결과가 없으므로 조건 없는 검색과 키가 달라야 한다.
+        assertThat(MemberSearchKey.of("searchComplex", blank, PageRequest.of(0, 10)))
+                .isNotEqualTo(MemberSearchKey.of("searchComplex", unfiltered, PageRequest.of(0, 10)));
+        assertThat(memberSearchCache.searchComplex(unfiltered, PageRequest.of(0, 10)).getTotalElements()).isPositive();
+        assertThat(memberSearchCache.searchComplex(blank, PageRequest.of(0, 10)).getTotalElements()).isZero();
+    }
+
+    private double hits(String tier) {
+        return meterRegistry.find("member.search.cache").tag("result", "hit").tag("tier", tier).counters().stream()
+                .mapToDouble(c -> c.count())
+                .sum();
+    }
+}
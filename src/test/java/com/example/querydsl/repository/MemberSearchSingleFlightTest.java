@@ -0,0 +1,148 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemberSearchSingleFlightTest {
+
+    MeterRegistry registry = new SimpleMeterRegistry();
+    MemberTableVersion version = new MemberTableVersion();
+
+    @Test
+    void coalesceIdenticalRequests() throws Exception {
+        MemberSearchSingleFlight singleFlight = new MemberSearchSingleFlight(null, null, null, version, registry, 1024);
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        MemberSearchKey key = MemberSearchKey.of("searchComplex", condition, PageRequest.of(0, 20));
+
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger queries = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = IntStream.range(0, 10)
+                    .mapToObj(i -> executor.submit(() -> singleFlight.execute(key, condition, () -> {
+                        queries.incrementAndGet();
+                        await(release);
+                        return "result";
+                    })))
+                    .toList();
+
+            // 나머지 9개가 진행 중인 조회에 붙을 때까지 기다린다.
+            while (outcome("coalesced") < 9) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo("result");
+            }
+        }
+        assertThat(queries.get()).isEqualTo(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+        assertThat(registry.get("member.search.fanout").summary().max()).isEqualTo(9);
+    }
+
+    @Test
+    void requestAfterCommitDoesNotJoinOlderFlight() throws Exception {
+        MemberSearchSingleFlight singleFlight = new MemberSearchSingleFlight(null, null, null, version, registry, 1024);
+        MemberSearchCondition condition = new MemberSearchCondition();
+        MemberSearchKey key = MemberSearchKey.of("searchComplex", condition, PageRequest.of(0, 20));
+
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> before = executor.submit(() -> singleFlight.execute(key, condition, () -> {
+                await(release);
+                return "before";
+            }));
+            while (singleFlight.inFlightCount() == 0) {
+                Thread.sleep(10);
+            }
+
+            // 조회 중에 변경이 커밋되면 새 요청은 따로 조회한다.
+            version.increment();
+            assertThat(singleFlight.execute(key, condition, () -> "after")).isEqualTo("after");
+
+            release.countDown();
+            assertThat(before.get()).isEqualTo("before");
+        }
+        assertThat(outcome("coalesced")).isZero();
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void failureIsNotCached() {
+        MemberSearchSingleFlight singleFlight = new MemberSearchSingleFlight(null, null, null, version, registry, 1024);
+        MemberSearchCondition condition = new MemberSearchCondition();
+        MemberSearchKey key = MemberSearchKey.of("searchByWhere", condition, PageRequest.of(0, 20));
+
+        assertThatThrownBy(() -> singleFlight.execute(key, condition, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.execute(key, condition, () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void errorReleasesKeyAndFollowers() throws Exception {
+        MemberSearchSingleFlight singleFlight = new MemberSearchSingleFlight(null, null, null, version, registry, 1024);
+        MemberSearchCondition condition = new MemberSearchCondition();
+        MemberSearchKey key = MemberSearchKey.of("searchByWhere", condition, PageRequest.of(0, 20));
+
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(key, condition, () -> {
+                await(release);
+                throw new AssertionError("boom");
+            }));
+            while (singleFlight.inFlightCount() == 0) {
+                Thread.sleep(10);
+            }
+            Future<String> follower = executor.submit(() -> singleFlight.execute(key, condition, () -> "unused"));
+            while (outcome("coalesced") < 1) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            assertThatThrownBy(leader::get).hasCauseInstanceOf(AssertionError.class);
+            assertThatThrownBy(follower::get).hasCauseInstanceOf(AssertionError.class);
+        }
+        assertThat(singleFlight.inFlightCount()).isZero();
+        assertThat(singleFlight.execute(key, condition, () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void bypassWhenTooManyKeysInFlight() {
+        MemberSearchSingleFlight singleFlight = new MemberSearchSingleFlight(null, null, null, version, registry, 0);
+        MemberSearchCondition condition = new MemberSearchCondition();
+        MemberSearchKey key = MemberSearchKey.of("searchByWhere", condition, PageRequest.of(0, 20));
+
+        assertThat(singleFlight.execute(key, condition, () -> "ok")).isEqualTo("ok");
+        assertThat(outcome("bypassed")).isEqualTo(1);
+    }
+
+    private double outcome(String outcome) {
+        return registry.find("member.search.single-flight").tag("outcome", outcome).counters().stream()
+                .mapToDouble(c -> c.count())
+                .sum();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
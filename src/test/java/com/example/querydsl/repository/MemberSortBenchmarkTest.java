@@ -0,0 +1,135 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.datagen.DataSetSpec;
+import com.example.querydsl.datagen.MemberDataGenerator;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.querydsl.entity.QMember.member;
+import static com.example.querydsl.entity.QTeam.team;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 허용된 정렬(과 대소문자 무시 접두사 검색)의 인덱스 유무에 따른 지연시간 비교
+ * - 인덱스를 지웠다가 다시 만들므로 공유 TCP DB 가 아닌 embedded(메모리) DB 에서만 실행
+ * - 리포지토리와 같은 정렬(MemberSorts, id 보조 정렬)로 첫 페이지(20건)를 반복 조회
+ * - 결과는 p50/p99 µs 로 출력. 가장 차이가 큰 username 정렬만 인덱스 쪽이 빠른지 확인한다.
+ */
+@SpringBootTest
+@ActiveProfiles("embedded")
+class MemberSortBenchmarkTest {
+
+    static final int TEAMS = 200;
+    static final int MEMBERS = 20_000;
+    static final int WARMUP = 200;
+    static final int ITERATIONS = 500;
+
+    record Case(String index, String table, String column, Sort sort, Predicate where) {
+    }
+
+    static final List<Case> CASES = List.of(
+            new Case("idx_member_name", "member", "name", Sort.by("username"), null),
+            new Case("idx_member_age", "member", "age", Sort.by(Sort.Order.desc("age")), null),
+            new Case("idx_team_name", "team", "name", Sort.by("teamName"), null),
+            new Case("idx_member_name_lower", "member", "name_lower", Sort.unsorted(), member.nameLower.startsWith("minj")));
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberDataGenerator memberDataGenerator;
+
+    Long maxTeamIdBefore;
+
+    @BeforeEach
+    void before() {
+        maxTeamIdBefore = jdbcTemplate.queryForObject("select coalesce(max(team_id), 0) from team", Long.class);
+        DataSetSpec spec = DataSetSpec.of(TEAMS, MEMBERS);
+        // 정리할 때 팀으로 찾을 수 있도록 모두 팀에 속하게
+        spec.setNullTeamRatio(0);
+        transactionTemplate.executeWithoutResult(status -> memberDataGenerator.load(spec));
+    }
+
+    @AfterEach
+    void after() {
+        jdbcTemplate.update("delete from member where team_id > ?", maxTeamIdBefore);
+        jdbcTemplate.update("delete from team where team_id > ?", maxTeamIdBefore);
+    }
+
+    @Test
+    void sortLatencyWithAndWithoutIndex() {
+        Map<String, long[]> with = new LinkedHashMap<>();
+        Map<String, long[]> without = new LinkedHashMap<>();
+        for (Case c : CASES) {
+            with.put(c.index(), measure(c));
+            jdbcTemplate.execute("drop index " + c.index());
+            try {
+                without.put(c.index(), measure(c));
+            } finally {
+                jdbcTemplate.execute("create index " + c.index() + " on " + c.table() + " (" + c.column() + ")");
+            }
+        }
+
+        System.out.printf("%-22s %12s %12s %12s %12s%n", "index", "with p50", "with p99", "without p50", "without p99");
+        CASES.forEach(c -> System.out.printf("%-22s %10dµs %10dµs %10dµs %10dµs%n", c.index(),
+                percentile(with.get(c.index()), 50), percentile(with.get(c.index()), 99),
+                percentile(without.get(c.index()), 50), percentile(without.get(c.index()), 99)));
+
+        // 인덱스 순서로 20건만 읽는 것과 전체를 정렬하는 것의 차이
+        assertThat(percentile(with.get("idx_member_name"), 50))
+                .isLessThanOrEqualTo(percentile(without.get("idx_member_name"), 50));
+        // 다른 테스트가 쓰는 스키마는 원래대로
+        Long restored = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.indexes where lower(index_name) in (?, ?, ?, ?)", Long.class,
+                CASES.stream().map(Case::index).toArray());
+        assertThat(restored).isEqualTo(CASES.size());
+    }
+
+    private long[] measure(Case c) {
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < WARMUP + ITERATIONS; i++) {
+            long start = System.nanoTime();
+            List<Long> ids = transactionTemplate.execute(status -> new JPAQueryFactory(em)
+                    .select(member.id)
+                    .from(member)
+                    .leftJoin(member.team, team)
+                    .where(c.where())
+                    .orderBy(MemberSorts.toOrderSpecifiers(c.sort()))
+                    .limit(20)
+                    .fetch());
+            if (i >= WARMUP) {
+                nanos[i - WARMUP] = System.nanoTime() - start;
+            }
+            assertThat(ids).isNotNull();
+        }
+        return nanos;
+    }
+
+    private static long percentile(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000;
+    }
+}
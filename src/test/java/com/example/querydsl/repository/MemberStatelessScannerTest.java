@@ -0,0 +1,117 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.example.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StatelessSession 은 별도 커넥션을 쓰므로 데이터를 커밋하고 끝나면 이 테스트의 팀만 지운다.
+ */
+@SpringBootTest
+class MemberStatelessScannerTest {
+
+    private static final int COUNT = 20_000;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberStatelessScanner memberStatelessScanner;
+
+    Long teamId;
+
+    @BeforeEach
+    void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = new Team("statelessTeam");
+            em.persist(team);
+            teamId = team.getId();
+            for (int i = 0; i < COUNT; i++) {
+                em.persist(new Member("member" + i, i % 100, team));
+                if (i % 1000 == 0) {
+                    em.flush();
+                    em.clear();
+                    team = em.find(Team.class, team.getId());
+                }
+            }
+        });
+    }
+
+    @AfterEach
+    void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            // soft delete 로는 행이 남아 team 을 지울 수 없으므로 native 로 지운다.
+            em.createNativeQuery("delete from member where team_id = :id").setParameter("id", teamId).executeUpdate();
+            em.createNativeQuery("delete from team where team_id = :id").setParameter("id", teamId).executeUpdate();
+        });
+    }
+
+    @Test
+    void scanWithPredicate() {
+        long expected = IntStream.range(0, COUNT)
+                .filter(i -> i % 100 >= 90 && ("member" + i).startsWith("member1"))
+                .count();
+        try (Stream<Member> members = memberStatelessScanner.scan(
+                member.team.id.eq(teamId), member.age.goe(90), member.name.startsWith("member1"))) {
+            // 빈 결과도 allMatch 를 통과하므로 건수까지 확인한다.
+            assertThat(members.toList())
+                    .hasSize((int) expected)
+                    .allMatch(m -> m.getAge() >= 90 && m.getName().startsWith("member1"));
+        }
+    }
+
+    /**
+     * 전체 로딩(findAll 과 같은 방식)과 스캔의 힙 사용량 비교 (참고용 출력)
+     */
+    @Test
+    void memoryAgainstFindAll() {
+        long before = usedHeap();
+        long findAllHeap = transactionTemplate.execute(status -> {
+            List<Member> members = em.createQuery("select m from Member m where m.team.id = :teamId", Member.class)
+                    .setParameter("teamId", teamId)
+                    .getResultList();
+            long used = usedHeap() - before;
+            assertThat(members).hasSize(COUNT);
+            return used;
+        });
+
+        long scanBefore = usedHeap();
+        long peak = 0;
+        long scanned = 0;
+        try (Stream<Member> members = memberStatelessScanner.scan(member.team.id.eq(teamId))) {
+            Iterator<Member> iterator = members.iterator();
+            while (iterator.hasNext()) {
+                iterator.next();
+                if (++scanned % 1000 == 0) {
+                    peak = Math.max(peak, usedHeap() - scanBefore);
+                }
+            }
+        }
+
+        System.out.println("findAll heap = " + findAllHeap / 1024 + "KB, stateless scan peak = " + peak / 1024 + "KB");
+        assertThat(scanned).isEqualTo(COUNT);
+    }
+
+    private long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
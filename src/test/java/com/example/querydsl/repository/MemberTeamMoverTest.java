@@ -0,0 +1,56 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.example.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberTeamMoverTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberTeamMover memberTeamMover;
+
+    @Test
+    void moveByCondition() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        Member member1 = new Member("member1", 10, teamA);
+        Member member2 = new Member("member2", 20, teamA);
+        Member member3 = new Member("member3", 30, teamA);
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+        em.flush();
+        em.clear();
+
+        Team loadedA = em.find(Team.class, teamA.getId());
+        long moved = memberTeamMover.moveMembers(teamA.getId(), teamB.getId(), member.age.goe(20));
+
+        assertThat(moved).isEqualTo(2);
+        // 이동 중에 팀 A 의 members 컬렉션을 로딩하지 않는다.
+        assertThat(Hibernate.isInitialized(loadedA.getMembers())).isFalse();
+        assertThat(em.contains(loadedA)).isFalse();
+
+        List<Member> inTeamB = em.createQuery("select m from Member m where m.team.id = :teamId order by m.name", Member.class)
+                .setParameter("teamId", teamB.getId())
+                .getResultList();
+        assertThat(inTeamB).extracting("name").containsExactly("member2", "member3");
+        assertThat(inTeamB).extracting("version").containsOnly(1L);
+    }
+}
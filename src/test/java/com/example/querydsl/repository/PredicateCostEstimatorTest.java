@@ -0,0 +1,42 @@
+package com.example.querydsl.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static com.example.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PredicateCostEstimatorTest {
+
+    PredicateCostEstimator estimator = new PredicateCostEstimator(2, 10);
+
+    @Test
+    void acceptIndexedPaths() {
+        assertThatCode(() -> estimator.check(member.name.eq("member1")
+                .and(member.age.between(10, 20))
+                .and(member.team.name.eq("teamA").or(member.team.id.eq(1L)))))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectUnboundedOrExpensive() {
+        assertThatThrownBy(() -> estimator.check(null))
+                .isInstanceOf(PredicateRejectedException.class);
+
+        assertThatThrownBy(() -> estimator.check(member.version.eq(1L)))
+                .isInstanceOf(PredicateRejectedException.class)
+                .hasMessageContaining("member.version");
+
+        assertThatThrownBy(() -> estimator.check(member.age.eq(1).or(member.age.eq(2)).or(member.age.eq(3)).or(member.age.eq(4))))
+                .isInstanceOf(PredicateRejectedException.class)
+                .hasMessageContaining("OR");
+
+        List<Long> ids = LongStream.range(0, 11).boxed().toList();
+        assertThatThrownBy(() -> estimator.check(member.id.in(ids)))
+                .isInstanceOf(PredicateRejectedException.class)
+                .hasMessageContaining("in list");
+    }
+}
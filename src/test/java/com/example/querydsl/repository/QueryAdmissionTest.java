@@ -0,0 +1,112 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.NameMatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryAdmissionTest {
+
+    @Test
+    void classify() {
+        MemberSearchCondition none = new MemberSearchCondition();
+        MemberSearchCondition team = new MemberSearchCondition();
+        team.setTeamName("teamA");
+        MemberSearchCondition contains = new MemberSearchCondition();
+        contains.setUsername("mem");
+        contains.setUsernameMatch(NameMatch.CONTAINS);
+
+        assertThat(QueryCost.classify(team, PageRequest.of(0, 20), false)).isEqualTo(QueryCost.CHEAP);
+        assertThat(QueryCost.classify(team, PageRequest.of(0, 20), true)).isEqualTo(QueryCost.NORMAL);
+        assertThat(QueryCost.classify(team, Pageable.unpaged(), false)).isEqualTo(QueryCost.NORMAL);
+        assertThat(QueryCost.classify(none, PageRequest.of(0, 20), false)).isEqualTo(QueryCost.NORMAL);
+        assertThat(QueryCost.classify(contains, PageRequest.of(0, 20), true)).isEqualTo(QueryCost.EXPENSIVE);
+        assertThat(QueryCost.classify(none, PageRequest.of(0, 1000), false)).isEqualTo(QueryCost.EXPENSIVE);
+        assertThat(QueryCost.classify(none, Pageable.unpaged(), false)).isEqualTo(QueryCost.EXPENSIVE);
+    }
+
+    @Test
+    void defaultConcurrencyFitsConnectionPool() {
+        QueryAdmission defaults = new QueryAdmission(new MockEnvironment(), new SimpleMeterRegistry());
+        assertThat(defaults.concurrency(QueryCost.CHEAP)).isEqualTo(4);
+        assertThat(defaults.concurrency(QueryCost.NORMAL)).isEqualTo(4);
+        assertThat(defaults.concurrency(QueryCost.EXPENSIVE)).isEqualTo(2);
+
+        QueryAdmission larger = new QueryAdmission(new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "20"), new SimpleMeterRegistry());
+        // normal + expensive 는 풀에서 cheap 몫을 뺀 만큼
+        assertThat(larger.concurrency(QueryCost.NORMAL) + larger.concurrency(QueryCost.EXPENSIVE))
+                .isEqualTo(20 - larger.concurrency(QueryCost.CHEAP));
+        assertThat(larger.concurrency(QueryCost.EXPENSIVE)).isEqualTo(4);
+    }
+
+    @Test
+    void shedExpensiveWithoutBlockingCheap() throws Exception {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("member.query.admission.expensive.concurrency", "1")
+                .withProperty("member.query.admission.expensive.queue", "1")
+                .withProperty("member.query.admission.expensive.max-wait", "5s");
+        QueryAdmission admission = new QueryAdmission(env, new SimpleMeterRegistry());
+
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executor.submit(() -> admission.run(QueryCost.EXPENSIVE, () -> {
+                running.countDown();
+                release.await();
+                return "first";
+            }));
+            running.await();
+            Future<String> second = executor.submit(() -> admission.run(QueryCost.EXPENSIVE, () -> "second"));
+            while (admission.queued(QueryCost.EXPENSIVE) < 1) {
+                Thread.sleep(10);
+            }
+
+            // 대기열이 차면 바로 버린다.
+            assertThatThrownBy(() -> admission.run(QueryCost.EXPENSIVE, () -> "third"))
+                    .isInstanceOf(QueryRejectedException.class)
+                    .hasMessageContaining("queue full");
+            // 싼 쿼리는 다른 대기열이라 기다리지 않는다.
+            assertThat(admission.run(QueryCost.CHEAP, () -> "cheap")).isEqualTo("cheap");
+
+            release.countDown();
+            assertThat(first.get()).isEqualTo("first");
+            assertThat(second.get()).isEqualTo("second");
+        }
+        assertThat(admission.active(QueryCost.EXPENSIVE)).isZero();
+    }
+
+    @Test
+    void rejectAfterMaxWait() throws Exception {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("member.query.admission.normal.concurrency", "1")
+                .withProperty("member.query.admission.normal.max-wait", "50ms");
+        QueryAdmission admission = new QueryAdmission(env, new SimpleMeterRegistry());
+
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> admission.run(QueryCost.NORMAL, () -> {
+                running.countDown();
+                release.await();
+                return null;
+            }));
+            running.await();
+            assertThatThrownBy(() -> admission.run(QueryCost.NORMAL, () -> "late"))
+                    .isInstanceOf(QueryRejectedException.class)
+                    .hasMessageContaining("wait timeout");
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.querydsl.repository;
+
+import com.example.querydsl.dto.LimitedResult;
+import com.example.querydsl.dto.MemberSearchCondition;
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"member.result.max-rows=3", "member.result.max-page-size=2"})
+@Transactional
+class ResultGuardTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    MemberSearchCondition condition = new MemberSearchCondition();
+
+    @BeforeEach
+    void before() {
+        Team team = new Team("guardTeam");
+        em.persist(team);
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("guard" + i, i, team));
+        }
+        condition.setTeamName("guardTeam");
+    }
+
+    @Test
+    void capUnpagedList() {
+        double before = truncated("searchByWhere");
+
+        LimitedResult<MemberTeamDto> result = memberJpaRepository.searchByWhereLimited(condition);
+        // 잘려도 항상 같은 행(id 순 앞쪽)
+        assertThat(result.content()).extracting("username").containsExactly("guard0", "guard1", "guard2");
+        assertThat(result.truncated()).isTrue();
+        assertThat(memberRepository.searchByWhere(condition)).extracting("username")
+                .containsExactly("guard0", "guard1", "guard2");
+        assertThat(memberJpaRepository.findAll_QueryDSL()).hasSize(3);
+        assertThat(truncated("searchByWhere")).isEqualTo(before + 1);
+
+        condition.setAgeLoe(2);
+        assertThat(memberJpaRepository.searchByWhereLimited(condition).truncated()).isFalse();
+    }
+
+    @Test
+    void clampPageSize() {
+        Page<MemberTeamDto> page = memberRepository.searchSimple(condition, PageRequest.of(0, 1000));
+
+        assertThat(page.getSize()).isEqualTo(2);
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+    }
+
+    private double truncated(String method) {
+        return meterRegistry.find("member.result.truncated").tag("method", method).counters().stream()
+                .mapToDouble(c -> c.count())
+                .sum();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.querydsl.search;
+
+import com.example.querydsl.dto.MemberTeamDto;
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import com.example.querydsl.repository.MemberTeamMover;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 색인은 커밋된 변경만 반영하므로 TransactionTemplate 으로 커밋하고, 만든 팀/회원만 지운다.
+ */
+@SpringBootTest
+class MemberFullTextSearchTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberFullTextSearch memberFullTextSearch;
+
+    @Autowired
+    MemberTeamMover memberTeamMover;
+
+    List<Long> teamIds = new ArrayList<>();
+
+    @AfterEach
+    void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createNativeQuery("delete from member where team_id in :ids").setParameter("ids", teamIds).executeUpdate();
+            em.createNativeQuery("delete from team where team_id in :ids").setParameter("ids", teamIds).executeUpdate();
+        });
+    }
+
+    @Test
+    void searchByNameAndTeamName() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team alpha = persistTeam("quokka squad");
+            Team beta = persistTeam("wombat squad");
+            em.persist(new Member("quokka kim", 10, beta));
+            em.persist(new Member("lee", 20, alpha));
+            em.persist(new Member("park", 30, beta));
+        });
+
+        // 회원명 일치가 팀명 일치보다 먼저
+        List<MemberTeamDto> result = memberFullTextSearch.search("QUOKKA", 10);
+        assertThat(result).extracting("username").containsExactly("quokka kim", "lee");
+
+        assertThat(memberFullTextSearch.search("wombat", 10)).extracting("username")
+                .containsExactly("quokka kim", "park");
+    }
+
+    @Test
+    void rolledBackChangesAreNotIndexed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = persistTeam("numbat");
+            em.persist(new Member("numbat kim", 10, team));
+            em.flush();
+            status.setRollbackOnly();
+        });
+
+        assertThat(memberFullTextSearch.search("numbat", 10)).isEmpty();
+    }
+
+    @Test
+    void rebuildKeepsCommittedEntries() {
+        transactionTemplate.executeWithoutResult(status ->
+                em.persist(new Member("bilby", 10, persistTeam("bilbyTeam"))));
+
+        memberFullTextSearch.rebuild();
+
+        assertThat(memberFullTextSearch.search("bilby", 10)).extracting("username").containsExactly("bilby");
+    }
+
+    @Test
+    void asyncRebuildStartsAfterCommit() throws InterruptedException {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = persistTeam("bandicootTeam");
+            em.flush();
+            // 리스너를 거치지 않는 적재 (MemberDataGenerator 처럼), 다시 만들어야만 색인된다.
+            em.createNativeQuery("""
+                            insert into member (member_id, name, name_lower, age, version, team_id, deleted)
+                            values (next value for member_seq, 'bandicoot', 'bandicoot', 10, 0, :teamId, false)""")
+                    .setParameter("teamId", team.getId())
+                    .executeUpdate();
+            // 커밋 전에는 시작하지 않는다 (별도 커넥션에서는 아직 보이지 않으므로)
+            memberFullTextSearch.rebuildAsync();
+        });
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<MemberTeamDto> result = memberFullTextSearch.search("bandicoot", 10);
+        while (result.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            result = memberFullTextSearch.search("bandicoot", 10);
+        }
+        assertThat(result).extracting("username").containsExactly("bandicoot");
+    }
+
+    @Test
+    void reindexAfterTeamRename() {
+        Long teamId = transactionTemplate.execute(status -> {
+            Team team = persistTeam("gammaTeam");
+            em.persist(new Member("choi", 10, team));
+            return team.getId();
+        });
+
+        transactionTemplate.executeWithoutResult(status -> em.createQuery("update Team t set t.name = 'deltaTeam' where t.id = :id")
+                .setParameter("id", teamId)
+                .executeUpdate());
+        memberFullTextSearch.reindexTeams(List.of(teamId));
+
+        assertThat(memberFullTextSearch.search("gammaTeam", 10)).isEmpty();
+        assertThat(memberFullTextSearch.search("deltaTeam", 10)).extracting("username").containsExactly("choi");
+    }
+
+    @Test
+    void filteredMoveUpdatesOnlyMovedMembers() {
+        List<Long> ids = transactionTemplate.execute(status -> {
+            Team from = persistTeam("echidna");
+            Team to = persistTeam("platypus");
+            em.persist(new Member("young", 10, from));
+            em.persist(new Member("old", 40, from));
+            return List.of(from.getId(), to.getId());
+        });
+
+        transactionTemplate.executeWithoutResult(status ->
+                memberTeamMover.moveMembers(ids.get(0), ids.get(1), member.age.goe(30)));
+
+        // 전체 재색인 없이 옮긴 회원만 팀이 바뀐다.
+        assertThat(memberFullTextSearch.search("echidna", 10)).extracting("username").containsExactly("young");
+        assertThat(memberFullTextSearch.search("platypus", 10)).extracting("username").containsExactly("old");
+    }
+
+    private Team persistTeam(String name) {
+        Team team = new Team(name);
+        em.persist(team);
+        teamIds.add(team.getId());
+        return team;
+    }
+}
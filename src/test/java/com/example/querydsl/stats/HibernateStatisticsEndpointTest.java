@@ -0,0 +1,64 @@
+package com.example.querydsl.stats;
+
+import com.example.querydsl.entity.Member;
+import com.example.querydsl.entity.Team;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기본 프로파일: 읽기만 열려 있고 샘플링 없이 계속 수집한다.
+ */
+@SpringBootTest
+@Transactional
+class HibernateStatisticsEndpointTest {
+
+    private static final String HQL = "select m from Member m where m.age >= :age";
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    ApplicationContext context;
+
+    @Autowired
+    HibernateStatisticsEndpoint endpoint;
+
+    @Test
+    void readOperation() {
+        Team team = new Team("statsTeam");
+        em.persist(team);
+        em.persist(new Member("stats1", 10, team));
+        em.flush();
+
+        for (int i = 0; i < 2; i++) {
+            em.createQuery(HQL, Member.class).setParameter("age", 10).getResultList();
+        }
+
+        Map<String, Object> statistics = endpoint.statistics();
+        assertThat(statistics.get("enabled")).isEqualTo(true);
+        assertThat((Long) statistics.get("queryExecutionCount")).isGreaterThanOrEqualTo(2);
+        assertThat((Long) statistics.get("queryPlanCacheHitCount")).isPositive();
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> queries = (List<Map<String, Object>>) statistics.get("queries");
+        assertThat(queries).filteredOn(q -> HQL.equals(q.get("hql")))
+                .singleElement()
+                .satisfies(q -> assertThat((Long) q.get("executionCount")).isGreaterThanOrEqualTo(2));
+    }
+
+    @Test
+    void resetIsNotExposedByDefault() {
+        assertThat(endpoint).isNotInstanceOf(ResettableHibernateStatisticsEndpoint.class);
+        assertThat(context.getBeanNamesForType(ResettableHibernateStatisticsEndpoint.class)).isEmpty();
+        assertThat(context.getBeanNamesForType(HibernateStatisticsSampler.class)).isEmpty();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.querydsl.stats;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * perf 프로파일: 샘플링으로 수집을 켰다 끄고, 초기화(DELETE)가 열린다.
+ * - 창과 주기는 테스트 시간에 맞춰 줄인다.
+ */
+@SpringBootTest(properties = {
+        "hibernate-stats.sampling.window=200ms",
+        "hibernate-stats.sampling.interval=500ms"})
+@ActiveProfiles("perf")
+class HibernateStatisticsSamplerTest {
+
+    private static final long TIMEOUT_MS = 5_000;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    HibernateStatisticsEndpoint endpoint;
+
+    @Test
+    void samplingToggle() throws InterruptedException {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        // window 동안 켜졌다가 다시 꺼진다.
+        assertThat(waitUntil(statistics::isStatisticsEnabled)).isTrue();
+        assertThat(waitUntil(() -> !statistics.isStatisticsEnabled())).isTrue();
+        assertThat(waitUntil(statistics::isStatisticsEnabled)).isTrue();
+    }
+
+    @Test
+    void resetIsExposed() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        assertThat(endpoint).isInstanceOf(ResettableHibernateStatisticsEndpoint.class);
+
+        long before = System.currentTimeMillis();
+        ((ResettableHibernateStatisticsEndpoint) endpoint).clear();
+
+        assertThat(statistics.getStart().toEpochMilli()).isGreaterThanOrEqualTo(before);
+        assertThat(endpoint.statistics()).containsKeys("enabled", "queryExecutionCount", "queries");
+    }
+
+    private static boolean waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+}